@@ -3,20 +3,59 @@ package com.example.SimpleWebApp.controller;
 import com.example.SimpleWebApp.model.Product;
 import com.example.SimpleWebApp.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@RequestMapping("/products")
 public class ProductController {
 
     @Autowired
     ProductService service;
 
-    @RequestMapping("/products")
-    public List<Product> getProducts()
+    // GET all products, or only those matching ?minPrice=&maxPrice= and/or ?namePrefix=
+    @GetMapping
+    public List<Product> getProducts(@RequestParam(required = false) Integer minPrice,
+                                     @RequestParam(required = false) Integer maxPrice,
+                                     @RequestParam(required = false) String namePrefix)
     {
-        return service.getProducts();
+        if (minPrice == null && maxPrice == null && namePrefix == null) {
+            return service.getProducts();
+        }
+        return service.findProducts(minPrice, maxPrice, namePrefix);
+    }
+
+    // GET one product by ID
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> getProduct(@PathVariable int id)
+    {
+        Product product = service.getProduct(id);
+        return product == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(product);
+    }
+
+    // POST - add new product
+    @PostMapping
+    public Product addProduct(@RequestBody Product product)
+    {
+        return service.addProduct(product);
+    }
+
+    // PUT - update existing product
+    @PutMapping("/{id}")
+    public ResponseEntity<Product> updateProduct(@PathVariable int id, @RequestBody Product product)
+    {
+        Product updated = service.updateProduct(id, product);
+        return updated == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(updated);
+    }
+
+    // DELETE - delete product by ID
+    @DeleteMapping("/{id}")
+    public String deleteProduct(@PathVariable int id)
+    {
+        return service.deleteProduct(id)
+                ? "Product deleted successfully with ID: " + id
+                : "No product with ID: " + id;
     }
 }
@@ -1,21 +1,64 @@
 package com.example.SimpleWebApp.service;
 
 import com.example.SimpleWebApp.model.Product;
+import com.example.SimpleWebApp.store.InMemoryProductStore;
 import org.springframework.stereotype.Service;
 
-import java.lang.reflect.Array;
-import java.util.Arrays;
 import java.util.List;
 
 @Service
 public class ProductService {
 
-    List<Product> products = Arrays.asList(new Product(101,"iphone",50000),
+    // in-memory alternative to the JPA ProductRepo of 5_SimpleWebApp2, safe to read and write from many requests
+    private final InMemoryProductStore store = new InMemoryProductStore(List.of(
+            new Product(101, "iphone", 50000),
             new Product(102, "samsung", 40000),
-            new Product(103, "xyz", 20000));
+            new Product(103, "xyz", 20000)));
 
+    // READ - get all products
     public List<Product> getProducts()
     {
-        return products;
+        return store.findAll();
+    }
+
+    // READ - products filtered by price range and/or name prefix, same rules as 5_SimpleWebApp2
+    public List<Product> findProducts(Integer minPrice, Integer maxPrice, String namePrefix)
+    {
+        int min = minPrice == null ? Integer.MIN_VALUE : minPrice;
+        int max = maxPrice == null ? Integer.MAX_VALUE : maxPrice;
+        if (namePrefix == null) {
+            return store.findByPriceRange(min, max);
+        }
+        List<Product> byName = store.findByNamePrefix(namePrefix);
+        if (minPrice == null && maxPrice == null) {
+            return byName;
+        }
+        return byName.stream()
+                .filter(p -> p.getPrice() >= min && p.getPrice() <= max)
+                .toList();
+    }
+
+    // READ - one product, null if there is none
+    public Product getProduct(int id)
+    {
+        return store.findById(id);
+    }
+
+    // CREATE - add new product, the store assigns the id
+    public Product addProduct(Product product)
+    {
+        return store.add(product);
+    }
+
+    // UPDATE - modify existing product, null if there is none
+    public Product updateProduct(int id, Product updatedProduct)
+    {
+        return store.update(id, updatedProduct);
+    }
+
+    // DELETE - remove product
+    public boolean deleteProduct(int id)
+    {
+        return store.delete(id);
     }
 }
@@ -0,0 +1,153 @@
+package com.example.SimpleWebApp.store;
+
+import com.example.SimpleWebApp.model.Product;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// copy-on-write product store: readers grab the current immutable snapshot with one volatile read and never wait,
+// writers build a new snapshot and swap it in with compareAndSet (retrying if another writer got there first)
+// suits a catalogue that is read far more often than it is written, every write copies the whole array
+public class InMemoryProductStore {
+
+    private final AtomicReference<Snapshot> snapshot;
+    private final AtomicInteger nextId;
+
+    private static final class Snapshot {
+        final Product[] products;
+        final IntIndex byId;
+        final List<Product> view;
+
+        // built on first use only, so writes don't pay for indexes nobody queries; a race just builds one twice
+        private volatile PriceIndex priceIndex;
+        private volatile NameTrie nameTrie;
+
+        Snapshot(Product[] products) {
+            this.products = products;
+            int[] ids = new int[products.length];
+            for (int i = 0; i < products.length; i++) {
+                ids[i] = products[i].getProdId();
+            }
+            this.byId = new IntIndex(ids);
+            this.view = Collections.unmodifiableList(Arrays.asList(products));
+        }
+
+        int indexOf(int id) {
+            return byId.get(id);
+        }
+
+        PriceIndex priceIndex() {
+            PriceIndex index = priceIndex;
+            if (index == null) {
+                index = new PriceIndex(products);
+                priceIndex = index;
+            }
+            return index;
+        }
+
+        NameTrie nameTrie() {
+            NameTrie trie = nameTrie;
+            if (trie == null) {
+                trie = new NameTrie(products);
+                nameTrie = trie;
+            }
+            return trie;
+        }
+    }
+
+    public InMemoryProductStore(List<Product> initialProducts) {
+        Product[] products = initialProducts.stream()
+                .map(p -> copy(p.getProdId(), p))
+                .toArray(Product[]::new);
+        snapshot = new AtomicReference<>(new Snapshot(products));
+        nextId = new AtomicInteger(Arrays.stream(products).mapToInt(Product::getProdId).max().orElse(0) + 1);
+    }
+
+    // the products in the returned list must be treated as read-only, they are shared with every other reader
+    public List<Product> findAll() {
+        return snapshot.get().view;
+    }
+
+    public Product findById(int id) {
+        Snapshot current = snapshot.get();
+        int index = current.indexOf(id);
+        return index < 0 ? null : current.products[index];
+    }
+
+    // sorted by price
+    public List<Product> findByPriceRange(int minPrice, int maxPrice) {
+        return snapshot.get().priceIndex().between(minPrice, maxPrice);
+    }
+
+    // sorted by name
+    public List<Product> findByNamePrefix(String prefix) {
+        return snapshot.get().nameTrie().startingWith(prefix);
+    }
+
+    public int size() {
+        return snapshot.get().products.length;
+    }
+
+    // ids are assigned by the store, like product_seq does for the JPA version
+    public Product add(Product product) {
+        Product stored = copy(nextId.getAndIncrement(), product);
+        swap(current -> {
+            Product[] next = Arrays.copyOf(current.products, current.products.length + 1);
+            next[current.products.length] = stored;
+            return next;
+        });
+        return stored;
+    }
+
+    // null when there is no product with this id
+    public Product update(int id, Product product) {
+        Product stored = copy(id, product);
+        boolean updated = swap(current -> {
+            int index = current.indexOf(id);
+            if (index < 0) {
+                return null;
+            }
+            Product[] next = current.products.clone();
+            next[index] = stored;
+            return next;
+        });
+        return updated ? stored : null;
+    }
+
+    public boolean delete(int id) {
+        return swap(current -> {
+            int index = current.indexOf(id);
+            if (index < 0) {
+                return null;
+            }
+            Product[] products = current.products;
+            Product[] next = new Product[products.length - 1];
+            System.arraycopy(products, 0, next, 0, index);
+            System.arraycopy(products, index + 1, next, index, products.length - index - 1);
+            return next;
+        });
+    }
+
+    // change builds the new array from the snapshot it is given, or returns null to leave the store untouched
+    private boolean swap(Function<Snapshot, Product[]> change) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Product[] next = change.apply(current);
+            if (next == null) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, new Snapshot(next))) {
+                return true;
+            }
+        }
+    }
+
+    // stored products are private copies, so a caller changing its own object can't change the snapshot
+    private static Product copy(int id, Product product) {
+        return new Product(id, product.getProdName(), product.getPrice());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.SimpleWebApp.store;
+
+import java.util.Arrays;
+
+// read-only int -> int hash map (open addressing, linear probing) on plain int arrays
+// no Integer boxing and no Entry objects, a lookup is a couple of array reads
+final class IntIndex {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private final int[] keys;
+    private final int[] values;
+    private final int mask;
+
+    // maps keys[i] -> i
+    IntIndex(int[] keysInOrder) {
+        int capacity = Integer.highestOneBit(Math.max(2, keysInOrder.length * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < keysInOrder.length; i++) {
+            int slot = slot(keysInOrder[i]);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = keysInOrder[i];
+            values[slot] = i;
+        }
+    }
+
+    // position of key, or -1
+    int get(int key) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9; // spread sequential ids over the table
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.SimpleWebApp.store;
+
+import com.example.SimpleWebApp.model.Product;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// prefix index on prodName (case sensitive, like the JPA query)
+// names are inserted in sorted order, so every trie node covers one contiguous run of the sorted array:
+// a prefix query walks prefix.length() nodes and returns that run, no scanning
+final class NameTrie {
+
+    private final Product[] byName;
+    private final Node root = new Node(0);
+
+    private static final class Node {
+        // children are created in ascending char order, so keys stays sorted for binary search
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        final int start;
+        int end;
+
+        Node(int start) {
+            this.start = start;
+            this.end = start;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        Node addChild(char c, int start) {
+            Node node = new Node(start);
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+
+    NameTrie(Product[] products) {
+        byName = products.clone();
+        Arrays.sort(byName, Comparator.comparing(NameTrie::name));
+        for (int i = 0; i < byName.length; i++) {
+            String name = name(byName[i]);
+            Node node = root;
+            node.end = i + 1;
+            for (int c = 0; c < name.length(); c++) {
+                Node next = node.child(name.charAt(c));
+                if (next == null) {
+                    next = node.addChild(name.charAt(c), i);
+                }
+                next.end = i + 1;
+                node = next;
+            }
+        }
+    }
+
+    List<Product> startingWith(String prefix) {
+        Node node = root;
+        for (int c = 0; c < prefix.length() && node != null; c++) {
+            node = node.child(prefix.charAt(c));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(byName).subList(node.start, node.end));
+    }
+
+    private static String name(Product product) {
+        return product.getProdName() == null ? "" : product.getProdName();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.SimpleWebApp.store;
+
+import com.example.SimpleWebApp.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// products sorted by price: a range query is one binary search + a walk over the matches, O(log n + k)
+final class PriceIndex {
+
+    private final Product[] byPrice;
+    private final int[] prices;
+
+    PriceIndex(Product[] products) {
+        byPrice = products.clone();
+        Arrays.sort(byPrice, (a, b) -> Integer.compare(a.getPrice(), b.getPrice()));
+        prices = new int[byPrice.length];
+        for (int i = 0; i < byPrice.length; i++) {
+            prices[i] = byPrice[i].getPrice();
+        }
+    }
+
+    List<Product> between(int minPrice, int maxPrice) {
+        List<Product> result = new ArrayList<>();
+        for (int i = firstAtLeast(minPrice); i < prices.length && prices[i] <= maxPrice; i++) {
+            result.add(byPrice[i]);
+        }
+        return result;
+    }
+
+    // first position whose price is >= price
+    private int firstAtLeast(int price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
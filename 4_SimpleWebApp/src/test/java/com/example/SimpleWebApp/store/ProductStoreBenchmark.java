@@ -0,0 +1,196 @@
+package com.example.SimpleWebApp.store;
+
+import com.example.SimpleWebApp.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// InMemoryProductStore vs a synchronized list vs a ConcurrentHashMap under mixed read/write load
+// read_heavy = 7 readers : 1 writer, write_heavy = 4 readers : 4 writers
+// run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.SimpleWebApp.store.ProductStoreBenchmark
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductStoreBenchmark {
+
+    @Param({"copyOnWrite", "synchronizedList", "concurrentHashMap"})
+    private String store;
+
+    @Param({"1000"})
+    private int products;
+
+    private Store target;
+
+    interface Store {
+        Product findById(int id);
+
+        long sumPrices();
+
+        void update(int id, Product product);
+    }
+
+    @Setup
+    public void setup() {
+        List<Product> initial = IntStream.rangeClosed(1, products)
+                .mapToObj(id -> new Product(id, "product-" + id, id))
+                .toList();
+        target = switch (store) {
+            case "copyOnWrite" -> copyOnWrite(initial);
+            case "synchronizedList" -> synchronizedList(initial);
+            case "concurrentHashMap" -> concurrentHashMap(initial);
+            default -> throw new IllegalArgumentException(store);
+        };
+    }
+
+    @Benchmark
+    @Group("read_heavy")
+    @GroupThreads(6)
+    public Product readHeavy_findById() {
+        return target.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("read_heavy")
+    @GroupThreads(1)
+    public long readHeavy_findAll() {
+        return target.sumPrices();
+    }
+
+    @Benchmark
+    @Group("read_heavy")
+    @GroupThreads(1)
+    public void readHeavy_update() {
+        int id = randomId();
+        target.update(id, new Product(id, "product-" + id, ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    @Group("write_heavy")
+    @GroupThreads(4)
+    public Product writeHeavy_findById() {
+        return target.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("write_heavy")
+    @GroupThreads(4)
+    public void writeHeavy_update() {
+        int id = randomId();
+        target.update(id, new Product(id, "product-" + id, ThreadLocalRandom.current().nextInt()));
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(1, products + 1);
+    }
+
+    private static Store copyOnWrite(List<Product> initial) {
+        InMemoryProductStore cow = new InMemoryProductStore(initial);
+        return new Store() {
+            public Product findById(int id) {
+                return cow.findById(id);
+            }
+
+            public long sumPrices() {
+                long sum = 0;
+                for (Product p : cow.findAll()) {
+                    sum += p.getPrice();
+                }
+                return sum;
+            }
+
+            public void update(int id, Product product) {
+                cow.update(id, product);
+            }
+        };
+    }
+
+    private static Store synchronizedList(List<Product> initial) {
+        List<Product> list = Collections.synchronizedList(new ArrayList<>(initial));
+        return new Store() {
+            public Product findById(int id) {
+                synchronized (list) {
+                    for (Product p : list) {
+                        if (p.getProdId() == id) {
+                            return p;
+                        }
+                    }
+                    return null;
+                }
+            }
+
+            public long sumPrices() {
+                synchronized (list) {
+                    long sum = 0;
+                    for (Product p : list) {
+                        sum += p.getPrice();
+                    }
+                    return sum;
+                }
+            }
+
+            public void update(int id, Product product) {
+                synchronized (list) {
+                    for (int i = 0; i < list.size(); i++) {
+                        if (list.get(i).getProdId() == id) {
+                            list.set(i, product);
+                            return;
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    private static Store concurrentHashMap(List<Product> initial) {
+        Map<Integer, Product> map = new ConcurrentHashMap<>();
+        initial.forEach(p -> map.put(p.getProdId(), p));
+        return new Store() {
+            public Product findById(int id) {
+                return map.get(id);
+            }
+
+            public long sumPrices() {
+                long sum = 0;
+                for (Product p : map.values()) {
+                    sum += p.getPrice();
+                }
+                return sum;
+            }
+
+            public void update(int id, Product product) {
+                map.replace(id, product);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
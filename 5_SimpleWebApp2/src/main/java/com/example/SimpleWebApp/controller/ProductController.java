@@ -1,10 +1,29 @@
 package com.example.SimpleWebApp.controller;
 
+import com.example.SimpleWebApp.model.CatalogVersion;
+import com.example.SimpleWebApp.model.ImportReport;
 import com.example.SimpleWebApp.model.Product;
+import com.example.SimpleWebApp.model.ProductCacheStats;
+import com.example.SimpleWebApp.model.ProductPage;
+import com.example.SimpleWebApp.service.ProductBulkService;
 import com.example.SimpleWebApp.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -14,10 +33,90 @@ public class ProductController {
     @Autowired
     private ProductService service;
 
-    // GET all products
+    @Autowired
+    private ProductBulkService bulkService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // GET all products, or only those matching ?minPrice=&maxPrice= and/or ?namePrefix=
+    // answers 304 without loading anything when the client's ETag is still current
     @GetMapping
-    public List<Product> getProducts() {
-        return service.getProducts();
+    public List<Product> getProducts(@RequestParam(required = false) Integer minPrice,
+                                     @RequestParam(required = false) Integer maxPrice,
+                                     @RequestParam(required = false) String namePrefix,
+                                     WebRequest request) {
+        CatalogVersion version = service.getCatalogVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
+        if (minPrice == null && maxPrice == null && namePrefix == null) {
+            return service.getProducts();
+        }
+        return service.findProducts(minPrice, maxPrice, namePrefix);
+    }
+
+    // GET one product by ID
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> getProduct(@PathVariable int id) {
+        Product product = service.getProduct(id);
+        return product == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(product);
+    }
+
+    // GET hit ratio and evictions of the product cache
+    @GetMapping("/cache/stats")
+    public ProductCacheStats getCacheStats() {
+        return service.getCacheStats();
+    }
+
+    // GET one page at a time: /products/page?after=<nextCursor>&size=50
+    @GetMapping("/page")
+    public ProductPage getProductPage(@RequestParam(defaultValue = "0") int after,
+                                      @RequestParam(required = false) Integer size) {
+        return service.getProductPage(after, size);
+    }
+
+    // GET all products as one JSON array, written while rows come off the database cursor
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamProducts() {
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                service.streamProducts(product -> {
+                    try {
+                        json.writeObject(product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+    }
+
+    // POST a whole catalogue as CSV (header line: prodName,price) or NDJSON, inserted in batches
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportReport importCsv(Reader body) throws IOException {
+        return bulkService.importProducts(new BufferedReader(body), ProductBulkService.Format.CSV);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ImportReport importNdjson(Reader body) throws IOException {
+        return bulkService.importProducts(new BufferedReader(body), ProductBulkService.Format.NDJSON);
+    }
+
+    // GET the whole catalogue as CSV or NDJSON, streamed straight from the database cursor
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format) {
+        ProductBulkService.Format exportFormat = ProductBulkService.Format.valueOf(format.toUpperCase());
+        MediaType contentType = exportFormat == ProductBulkService.Format.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            bulkService.exportProducts(writer, exportFormat);
+        };
+        return ResponseEntity.ok().contentType(contentType).body(body);
     }
 
     // POST - add new product
@@ -28,8 +127,9 @@ public class ProductController {
 
     // PUT - update existing product
     @PutMapping("/{id}")
-    public Product updateProduct(@PathVariable int id, @RequestBody Product product) {
-        return service.updateProduct(id, product);
+    public ResponseEntity<Product> updateProduct(@PathVariable int id, @RequestBody Product product) {
+        Product updated = service.updateProduct(id, product);
+        return updated == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(updated);
     }
 
     // DELETE - delete product by ID
@@ -0,0 +1,5 @@
+package com.example.SimpleWebApp.model;
+
+// version marker of the whole catalogue, used for ETag / Last-Modified on GET /products
+public record CatalogVersion(String etag, long lastModified) {
+}
@@ -0,0 +1,7 @@
+package com.example.SimpleWebApp.model;
+
+import java.util.List;
+
+// result of POST /products/import, errors holds only the first few bad lines so the report stays small
+public record ImportReport(long imported, long rejected, List<String> errors, long millis, double rowsPerSecond) {
+}
@@ -1,19 +1,32 @@
 package com.example.SimpleWebApp.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.stereotype.Component;
 
 
+// price and prodName are indexed for GET /products?minPrice=&maxPrice= and ?namePrefix=
 @Data
 @AllArgsConstructor
 @Component
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_product_price", columnList = "price"),
+        @Index(name = "idx_product_name", columnList = "prodName")
+})
 public class Product {
 
+    // one product_seq call per 50 inserts
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private int prodId;
     private String prodName;
     private int price;
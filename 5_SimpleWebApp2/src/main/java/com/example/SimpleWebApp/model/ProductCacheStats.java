@@ -0,0 +1,5 @@
+package com.example.SimpleWebApp.model;
+
+// returned by GET /products/cache/stats, hits/misses count both by-id and full-list reads
+public record ProductCacheStats(int size, long hits, long misses, double hitRatio, long evictions) {
+}
@@ -0,0 +1,7 @@
+package com.example.SimpleWebApp.model;
+
+import java.util.List;
+
+// one page of GET /products/page, pass nextCursor back as ?after= to get the next page (null = last page)
+public record ProductPage(List<Product> items, Integer nextCursor) {
+}
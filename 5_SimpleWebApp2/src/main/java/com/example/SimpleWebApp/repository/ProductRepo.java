@@ -1,9 +1,35 @@
 package com.example.SimpleWebApp.repository;
 import com.example.SimpleWebApp.model.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepo extends JpaRepository<Product, Integer> {
 
+    // keyset pagination: "where prodId > ? order by prodId limit ?" walks the primary key index, no OFFSET scan
+    List<Product> findByProdIdGreaterThanOrderByProdIdAsc(int prodId, Limit limit);
+
+    // range scan on idx_product_price
+    List<Product> findByPriceBetweenOrderByPriceAsc(int minPrice, int maxPrice);
+
+    // "like 'prefix%'" can use idx_product_name, kept case sensitive because lower(prodName) could not
+    // (on Postgres with a non-C collation the index needs varchar_pattern_ops for this)
+    List<Product> findByProdNameStartingWithOrderByProdNameAsc(String prefix);
+
+    List<Product> findByProdNameStartingWithAndPriceBetweenOrderByProdNameAsc(String prefix, int minPrice, int maxPrice);
+
+    // rows are fetched from the cursor in chunks of 500 instead of all at once, must run inside a transaction
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select p from Product p order by p.prodId")
+    Stream<Product> streamAll();
 }
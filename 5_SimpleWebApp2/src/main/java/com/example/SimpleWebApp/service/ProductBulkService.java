@@ -0,0 +1,239 @@
+package com.example.SimpleWebApp.service;
+
+import com.example.SimpleWebApp.model.ImportReport;
+import com.example.SimpleWebApp.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+// CSV / NDJSON import and export for the product catalogue
+// both sides work one record at a time, so memory use doesn't depend on the file size
+@Service
+public class ProductBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBulkService.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // a quoted field may span lines, but no record gets longer than this: a quote that is never closed
+    // would otherwise pull the rest of the upload into memory as one record
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${products.import.batch-size:1000}")
+    private int batchSize;
+
+    public enum Format { CSV, NDJSON }
+
+    // CSV needs a header line, columns are matched by name: prodName,price (prodId is ignored, ids come from product_seq)
+    public ImportReport importProducts(BufferedReader reader, Format format) throws IOException {
+        long start = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        List<String> errors = new ArrayList<>();
+        List<Product> batch = new ArrayList<>(batchSize);
+
+        int nameColumn = -1;
+        int priceColumn = -1;
+        if (format == Format.CSV) {
+            String header = readCsvRecord(reader);
+            List<String> columns = header == null ? List.of() : parseCsvLine(header);
+            nameColumn = columns.indexOf("prodName");
+            priceColumn = columns.indexOf("price");
+            if (nameColumn < 0 || priceColumn < 0) {
+                throw new IllegalArgumentException("CSV header must contain prodName and price columns");
+            }
+        }
+
+        long lineNumber = format == Format.CSV ? 1 : 0;
+        while (true) {
+            long recordLine = lineNumber + 1;
+            try {
+                String line = format == Format.CSV ? readCsvRecord(reader) : reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNumber += 1 + line.chars().filter(c -> c == '\n').count(); // line breaks inside quoted fields
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(format == Format.CSV ? fromCsv(line, nameColumn, priceColumn) : fromJson(line));
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                if (e instanceof MalformedCsvRecordException) {
+                    lineNumber++; // readCsvRecord skipped exactly one line
+                }
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("line " + recordLine + ": " + e.getMessage());
+                }
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                productService.addProducts(batch);
+                imported += batch.size();
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            productService.addProducts(batch);
+            imported += batch.size();
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new ImportReport(imported, rejected, errors, millis, rowsPerSecond(imported, millis));
+    }
+
+    public void exportProducts(Writer writer, Format format) throws IOException {
+        long start = System.nanoTime();
+        long[] exported = {0};
+
+        if (format == Format.CSV) {
+            writer.write("prodId,prodName,price\n");
+        }
+        productService.streamProducts(product -> {
+            try {
+                if (format == Format.CSV) {
+                    writer.write(product.getProdId() + "," + escapeCsv(product.getProdName()) + "," + product.getPrice() + "\n");
+                } else {
+                    writer.write(objectMapper.writeValueAsString(product));
+                    writer.write('\n');
+                }
+                exported[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+
+        // the body is already on its way to the client, so the numbers go to the log instead of a report
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Exported {} products in {} ms ({} rows/s)", exported[0], millis, Math.round(rowsPerSecond(exported[0], millis)));
+    }
+
+    private Product fromJson(String line) throws JsonProcessingException {
+        Product product = objectMapper.readValue(line, Product.class);
+        if (product.getProdName() == null) {
+            throw new IllegalArgumentException("prodName is required");
+        }
+        return product;
+    }
+
+    private Product fromCsv(String line, int nameColumn, int priceColumn) {
+        List<String> fields = parseCsvLine(line);
+        if (fields.size() <= Math.max(nameColumn, priceColumn)) {
+            throw new IllegalArgumentException("expected at least " + (Math.max(nameColumn, priceColumn) + 1) + " columns");
+        }
+        Product product = new Product();
+        product.setProdName(fields.get(nameColumn));
+        product.setPrice(Integer.parseInt(fields.get(priceColumn).trim())); // NumberFormatException is an IllegalArgumentException
+        return product;
+    }
+
+    // thrown once the bad record's first line has been skipped, so reading goes on with the next line
+    static class MalformedCsvRecordException extends IllegalArgumentException {
+        MalformedCsvRecordException(String message) {
+            super(message);
+        }
+    }
+
+    // one CSV record without its line ending; \r and \n inside a quoted field belong to the field, the way
+    // escapeCsv writes them. null at the end of the input
+    static String readCsvRecord(BufferedReader reader) throws IOException {
+        reader.mark(MAX_RECORD_LENGTH + 1);
+        StringBuilder record = new StringBuilder();
+        boolean quoted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n' && !quoted) {
+                if (!record.isEmpty() && record.charAt(record.length() - 1) == '\r') {
+                    record.setLength(record.length() - 1);
+                }
+                return record.toString();
+            }
+            if (c == '"') {
+                quoted = !quoted; // "" flips twice
+            }
+            record.append((char) c);
+            if (record.length() > MAX_RECORD_LENGTH) {
+                skipFirstLine(reader);
+                throw new MalformedCsvRecordException("record is longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+        }
+        if (quoted) {
+            // only this line is lost, not the rows the open quote swallowed
+            skipFirstLine(reader);
+            throw new MalformedCsvRecordException("quoted field is never closed");
+        }
+        return record.isEmpty() ? null : record.toString();
+    }
+
+    // back to where readCsvRecord started, then past the end of that line
+    private static void skipFirstLine(BufferedReader reader) throws IOException {
+        reader.reset();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            // skip
+        }
+    }
+
+    // RFC 4180 style: fields may be wrapped in quotes, "" inside quotes is a literal quote
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("quoted field is never closed");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static double rowsPerSecond(long rows, long millis) {
+        return millis == 0 ? rows : rows * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.SimpleWebApp.service;
+
+import com.example.SimpleWebApp.model.CatalogVersion;
+import com.example.SimpleWebApp.model.Product;
+import com.example.SimpleWebApp.model.ProductCacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// read-through cache for ProductService: products by id (bounded, oldest evicted first) + a snapshot of findAll()
+// writes invalidate instead of writing through, so two concurrent updates can never leave the older one cached
+@Component
+public class ProductCache {
+
+    private final int maxSize;
+
+    private final ConcurrentHashMap<Integer, Product> byId = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Node> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicReference<Snapshot> all = new AtomicReference<>();
+
+    // bumped on every write; a findAll() that raced with a write is thrown away instead of being cached
+    private final AtomicLong version = new AtomicLong();
+
+    // the same per id, striped so memory stays fixed: a write only throws away loads of ids in its own stripe
+    private static final int STRIPES = 64;
+    private final AtomicLongArray idVersions = new AtomicLongArray(STRIPES);
+
+    // version restarts at 0 with the app, the start time keeps ETags from before a restart from matching
+    private final long startedAt = System.currentTimeMillis();
+    private volatile long lastModified = startedAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Node(int id, Product product) {
+    }
+
+    private record Snapshot(long version, List<Product> products) {
+    }
+
+    public ProductCache(@Value("${products.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Product get(int id, IntFunction<Product> loader) {
+        Product cached = byId.get(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        long seen = idVersions.get(stripe(id));
+        Product loaded = loader.apply(id);
+        if (loaded != null && byId.putIfAbsent(id, loaded) == null) {
+            if (idVersions.get(stripe(id)) != seen) {
+                // a write happened while we were loading, what we read may already be stale
+                byId.remove(id, loaded);
+            } else {
+                insertionOrder.add(new Node(id, loaded));
+                queued.incrementAndGet();
+                evictOldest();
+            }
+        }
+        return loaded;
+    }
+
+    public List<Product> getAll(Supplier<List<Product>> loader) {
+        Snapshot snapshot = all.get();
+        if (snapshot != null && snapshot.version() == version.get()) {
+            hits.increment();
+            return snapshot.products();
+        }
+        misses.increment();
+
+        long seen = version.get();
+        List<Product> products = List.copyOf(loader.get());
+        if (version.get() == seen) {
+            all.set(new Snapshot(seen, products));
+        }
+        return products;
+    }
+
+    // call after the database write has happened
+    public void invalidate(int id) {
+        idVersions.incrementAndGet(stripe(id));
+        version.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+        byId.remove(id);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            idVersions.incrementAndGet(i);
+        }
+        version.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+        byId.clear();
+        insertionOrder.clear();
+        queued.set(0);
+    }
+
+    // changes on every add/update/delete, costs two field reads
+    public CatalogVersion catalogVersion() {
+        return new CatalogVersion("\"" + startedAt + "-" + version.get() + "\"", lastModified);
+    }
+
+    private static int stripe(int id) {
+        return id & (STRIPES - 1);
+    }
+
+    private void evictOldest() {
+        while (queued.get() > maxSize) {
+            Node oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (byId.remove(oldest.id(), oldest.product())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public ProductCacheStats stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        return new ProductCacheStats(byId.size(), h, m, h + m == 0 ? 0.0 : (double) h / (h + m), evictions.sum());
+    }
+}
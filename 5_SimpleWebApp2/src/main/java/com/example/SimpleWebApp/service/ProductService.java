@@ -1,13 +1,23 @@
 package com.example.SimpleWebApp.service;
 
+import com.example.SimpleWebApp.model.CatalogVersion;
 import com.example.SimpleWebApp.model.Product;
+import com.example.SimpleWebApp.model.ProductCacheStats;
+import com.example.SimpleWebApp.model.ProductPage;
 import com.example.SimpleWebApp.repository.ProductRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
@@ -15,6 +25,18 @@ public class ProductService {
     @Autowired
     ProductRepo repo;
 
+    @Autowired
+    ProductCache cache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${products.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${products.page.max-size:500}")
+    private int maxPageSize;
+
 //    private final List<Product> products = new ArrayList<>();
 //
 //    public ProductService() {
@@ -25,21 +47,90 @@ public class ProductService {
 
     // READ - get all products
     public List<Product> getProducts() {
-        return repo.findAll();
+        return cache.getAll(repo::findAll);
+    }
+
+    // READ - products filtered by price range and/or name prefix, answered from the indexes
+    public List<Product> findProducts(Integer minPrice, Integer maxPrice, String namePrefix) {
+        int min = minPrice == null ? Integer.MIN_VALUE : minPrice;
+        int max = maxPrice == null ? Integer.MAX_VALUE : maxPrice;
+        if (namePrefix == null) {
+            return repo.findByPriceBetweenOrderByPriceAsc(min, max);
+        }
+        if (minPrice == null && maxPrice == null) {
+            return repo.findByProdNameStartingWithOrderByProdNameAsc(namePrefix);
+        }
+        return repo.findByProdNameStartingWithAndPriceBetweenOrderByProdNameAsc(namePrefix, min, max);
+    }
+
+    // READ - one product, null if there is none
+    public Product getProduct(int id) {
+        return cache.get(id, productId -> repo.findById(productId).orElse(null));
+    }
+
+    // ETag / Last-Modified for the catalogue, read without touching the database
+    public CatalogVersion getCatalogVersion() {
+        return cache.catalogVersion();
+    }
+
+    public ProductCacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    // READ - one page of products with prodId > after, in prodId order
+    public ProductPage getProductPage(int after, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<Product> items = repo.findByProdIdGreaterThanOrderByProdIdAsc(after, Limit.of(pageSize));
+        Integer nextCursor = items.size() == pageSize ? items.get(items.size() - 1).getProdId() : null;
+        return new ProductPage(items, nextCursor);
+    }
+
+    // READ - hand every product to the consumer one by one, memory stays flat whatever the table size
+    @Transactional(readOnly = true)
+    public void streamProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = repo.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product); // don't let the persistence context grow with the table
+            });
+        }
     }
 
     // CREATE - add new product
     public Product addProduct(Product product) {
-        return repo.save(product);
+        product.setProdId(0); // new row, id comes from product_seq
+        Product saved = repo.save(product);
+        cache.invalidate(saved.getProdId());
+        return saved;
+    }
+
+    // CREATE - many products in one transaction, Hibernate sends the INSERTs as JDBC batches
+    @Transactional
+    public void addProducts(List<Product> products) {
+        for (Product product : products) {
+            product.setProdId(0);
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear(); // keep the persistence context from growing across batches
+        cache.invalidateAll();
     }
 
-    // UPDATE - modify existing product
+    // UPDATE - modify existing product, null if there is none
+    // (saving a generated id that isn't in the table fails with OptimisticLockException instead of inserting)
     public Product updateProduct(int id, Product updatedProduct) {
-         return repo.save(updatedProduct);
+         if (!repo.existsById(id)) {
+             return null;
+         }
+         updatedProduct.setProdId(id);
+         Product saved = repo.save(updatedProduct);
+         cache.invalidate(id);
+         return saved;
     }
 
     // DELETE - remove product
     public void deleteProduct(int id) {
         repo.deleteById(id);
+        cache.invalidate(id);
     }
 }
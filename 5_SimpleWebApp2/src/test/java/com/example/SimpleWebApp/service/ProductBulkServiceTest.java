@@ -0,0 +1,65 @@
+package com.example.SimpleWebApp.service;
+
+import com.example.SimpleWebApp.model.ImportReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ProductBulkServiceTest {
+
+    @Autowired
+    private ProductBulkService bulkService;
+
+    @Test
+    void exportedNamesReadBackUnchanged() throws Exception {
+        List<String> names = List.of("plain", "a, b", "say \"hi\"", "two\nlines", "carriage\rreturn", "windows\r\nline");
+        StringBuilder csv = new StringBuilder();
+        for (String name : names) {
+            csv.append("1,").append(ProductBulkService.escapeCsv(name)).append(",10\r\n");
+        }
+
+        BufferedReader reader = new BufferedReader(new StringReader(csv.toString()));
+        for (String name : names) {
+            assertThat(ProductBulkService.parseCsvLine(ProductBulkService.readCsvRecord(reader)))
+                    .containsExactly("1", name, "10");
+        }
+        assertThat(ProductBulkService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void anUnclosedQuoteOnlyRejectsItsOwnLine() throws Exception {
+        String csv = """
+                prodName,price
+                first,10
+                "never closed,20
+                third,30
+                "fourth, with a comma",40
+                """;
+        ImportReport report = bulkService.importProducts(new BufferedReader(new StringReader(csv)), ProductBulkService.Format.CSV);
+
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors()).containsExactly("line 3: quoted field is never closed");
+    }
+
+    @Test
+    void aRecordStopsAtTheLengthLimit() throws Exception {
+        // an open quote followed by more than MAX_RECORD_LENGTH characters of other rows
+        String rows = "x,1\n".repeat(ProductBulkService.MAX_RECORD_LENGTH / 4 + 1);
+        BufferedReader reader = new BufferedReader(new StringReader("\"open,1\n" + rows));
+
+        assertThatThrownBy(() -> ProductBulkService.readCsvRecord(reader))
+                .isInstanceOf(ProductBulkService.MalformedCsvRecordException.class)
+                .hasMessageContaining("longer than");
+        // reading picks up again right after the bad line
+        assertThat(ProductBulkService.readCsvRecord(reader)).isEqualTo("x,1");
+    }
+}
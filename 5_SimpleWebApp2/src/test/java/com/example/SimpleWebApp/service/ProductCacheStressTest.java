@@ -0,0 +1,96 @@
+package com.example.SimpleWebApp.service;
+
+import com.example.SimpleWebApp.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// readers and writers hammer the cache at the same time, a ConcurrentHashMap plays the database;
+// once the writers stop, every read must match the "database" again
+class ProductCacheStressTest {
+
+    private static final int PRODUCTS = 200;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 20_000;
+
+    @Test
+    void cacheMatchesDatabaseAfterConcurrentReadsAndWrites() throws Exception {
+        ProductCache cache = new ProductCache(50); // smaller than PRODUCTS so eviction runs too
+        Map<Integer, Product> db = new ConcurrentHashMap<>();
+        for (int id = 1; id <= PRODUCTS; id++) {
+            db.put(id, new Product(id, "product-" + id, id * 10));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean writer = t % 2 == 0;
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int id = random.nextInt(1, PRODUCTS + 1);
+                    if (writer) {
+                        // same order as ProductService: database first, then invalidate
+                        if (random.nextInt(10) == 0) {
+                            db.remove(id);
+                        } else {
+                            db.put(id, new Product(id, "product-" + id + "-" + i, i));
+                        }
+                        cache.invalidate(id);
+                    } else if (random.nextBoolean()) {
+                        cache.get(id, db::get);
+                    } else {
+                        cache.getAll(() -> new ArrayList<>(db.values()));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        for (int id = 1; id <= PRODUCTS; id++) {
+            assertThat(cache.get(id, db::get)).isEqualTo(db.get(id));
+        }
+        assertThat(cache.getAll(() -> new ArrayList<>(db.values())))
+                .containsExactlyInAnyOrderElementsOf(db.values());
+        assertThat(cache.stats().hits()).isPositive();
+        assertThat(cache.stats().evictions()).isPositive();
+    }
+
+    @Test
+    void aWriteToAnotherProductDoesNotDiscardALoad() {
+        ProductCache cache = new ProductCache(50);
+        Product one = new Product(1, "product-1", 10);
+
+        // product 2 is updated while product 1 is being read from the database
+        cache.get(1, id -> {
+            cache.invalidate(2);
+            return one;
+        });
+        assertThat(cache.get(1, id -> null)).isEqualTo(one);
+
+        // a write to product 1 itself still does
+        cache.invalidate(1);
+        cache.get(1, id -> {
+            cache.invalidate(1);
+            return one;
+        });
+        assertThat(cache.get(1, id -> null)).isNull();
+    }
+}
@@ -0,0 +1,61 @@
+package com.telusko.SpringSecEX;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// in-memory students keyed by id, safe for concurrent requests without any locks:
+// ConcurrentSkipListMap does CAS-based writes and keeps ids sorted, so a page is just a tailMap walk
+@Component
+public class StudentStore {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final ConcurrentSkipListMap<Integer, Student> students = new ConcurrentSkipListMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    public StudentStore() {
+        this(List.of(
+                new Student(1, "John Doe", 120),
+                new Student(2, "Jane Smith", 130),
+                new Student(3, "Alice Johnson", 150)
+        ));
+    }
+
+    public StudentStore(Collection<Student> initial) {
+        initial.forEach(this::add);
+    }
+
+    // always a new student with the next id; an id sent by the client is ignored, so no write can replace another
+    public Student add(Student student) {
+        student.setIt(lastId.incrementAndGet());
+        students.put(student.getIt(), student);
+        return student;
+    }
+
+    public Student findById(int id) {
+        return students.get(id);
+    }
+
+    // keyset page: up to size students with an id greater than afterId, in id order
+    public List<Student> findPage(int afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Student> page = new ArrayList<>(Math.min(limit, students.size()));
+        for (Student student : students.tailMap(afterId, false).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(student);
+        }
+        return page;
+    }
+
+    public int size() {
+        return students.size();
+    }
+}
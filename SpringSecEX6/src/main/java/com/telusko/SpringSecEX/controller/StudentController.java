@@ -2,11 +2,16 @@ package com.telusko.SpringSecEX.controller;
 
 
 import com.telusko.SpringSecEX.model.Student;
+import com.telusko.SpringSecEX.service.StudentStore;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.web.server.csrf.CsrfToken;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -14,16 +19,21 @@ import java.util.List;
 @RestController
 public class StudentController
 {
-    private List<Student> students = List.of(
-            new Student(1, "John Doe",120),
-            new Student(2, "Jane Smith", 130),
-            new Student(3, "Alice Johnson", 150)
-    );
+    @Autowired
+    private StudentStore students;
 
     @GetMapping("/students")
-    public List<Student> getStudents()
+    public List<Student> getStudents(@RequestParam(defaultValue = "0") int afterId,
+                                     @RequestParam(defaultValue = "" + StudentStore.DEFAULT_PAGE_SIZE) int size)
     {
-       return students;
+       return students.findPage(afterId, size);
+    }
+
+    @GetMapping("/students/{id}")
+    public ResponseEntity<Student> getStudent(@PathVariable int id)
+    {
+        Student student = students.findById(id);
+        return student == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(student);
     }
 
     @GetMapping("/csrf-token")
@@ -35,8 +45,7 @@ public class StudentController
     @PostMapping("/students")
     public Student addStudent(@RequestBody Student student)
     {
-       students.add(student);
-       return student;
+       return students.add(student);
     }
 
 }
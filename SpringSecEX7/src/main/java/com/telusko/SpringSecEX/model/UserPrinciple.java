@@ -11,24 +11,39 @@ import java.util.List;
 
 public class UserPrinciple implements UserDetails {
 
-    private Users user;
+    // every user has the same single authority, no need to build a new one per request
+    private static final Collection<? extends GrantedAuthority> AUTHORITIES =
+            Collections.singleton(new SimpleGrantedAuthority("USER"));
+
+    private final String username;
+    private final String password;
+
     public UserPrinciple(Users user) {
-        this.user = user;
+        this(user.getUsername(), user.getPassword());
+    }
+
+    public UserPrinciple(UserCredentials credentials) {
+        this(credentials.username(), credentials.password());
+    }
+
+    public UserPrinciple(String username, String password) {
+        this.username = username;
+        this.password = password;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singleton(new SimpleGrantedAuthority("USER"));
+        return AUTHORITIES;
     }
 
     @Override
     public @Nullable String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
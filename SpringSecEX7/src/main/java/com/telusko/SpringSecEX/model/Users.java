@@ -1,12 +1,18 @@
 package com.telusko.SpringSecEX.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+// unique constraint = unique index on username, so findByUsername is an index lookup instead of a table scan
 @Entity
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_username", columnNames = "username"))
 public class Users {
     @Id
     private int id;
+    @Column(nullable = false)
     private String username;
     private String password;
 
@@ -1,10 +1,17 @@
 package com.telusko.SpringSecEX.repo;
 
+import com.telusko.SpringSecEX.model.UserCredentials;
 import com.telusko.SpringSecEX.model.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepo extends JpaRepository<Users, Integer> {
 
     Users findByUsername(String username);
 
+    // login/JWT path: only username + hash, no full entity in the persistence context
+    @Query("select new com.telusko.SpringSecEX.model.UserCredentials(u.username, u.password) from Users u where u.username = :username")
+    UserCredentials findCredentialsByUsername(@Param("username") String username);
+
 }
@@ -1,7 +1,7 @@
 package com.telusko.SpringSecEX.service;
 
+import com.telusko.SpringSecEX.model.UserCredentials;
 import com.telusko.SpringSecEX.model.UserPrinciple;
-import com.telusko.SpringSecEX.model.Users;
 import com.telusko.SpringSecEX.repo.UserRepo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,7 +19,7 @@ public class MyUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // TODO Auto-generated method stub
 
-        Users user = repo.findByUsername(username);
+        UserCredentials user = repo.findCredentialsByUsername(username);
         if (user == null) {
             System.out.println("User not found " + username);
             throw new UsernameNotFoundException("User not found " + username);
@@ -0,0 +1,90 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// many threads add students at once: no write may be lost and no id handed out twice
+class StudentStoreStressTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int WRITES_PER_THREAD = 10_000;
+
+    @Test
+    void concurrentWritesAreNotLost() throws Exception {
+        StudentStore store = new StudentStore(List.of());
+
+        List<List<Student>> saved = runOnThreads(THREADS, thread -> {
+            List<Student> mine = new ArrayList<>(WRITES_PER_THREAD);
+            for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                mine.add(store.add(new Student(0, "student-" + thread + "-" + i, i)));
+            }
+            return mine;
+        });
+
+        Set<Integer> ids = new HashSet<>();
+        for (List<Student> students : saved) {
+            for (Student student : students) {
+                assertThat(ids.add(student.getIt())).as("id %d handed out twice", student.getIt()).isTrue();
+                assertThat(store.findById(student.getIt())).isSameAs(student);
+            }
+        }
+        assertThat(store.size()).isEqualTo(THREADS * WRITES_PER_THREAD);
+
+        // walking every page sees every student exactly once, in id order
+        int seen = 0;
+        int afterId = 0;
+        List<Student> page;
+        while (!(page = store.findPage(afterId, StudentStore.MAX_PAGE_SIZE)).isEmpty()) {
+            assertThat(page.get(0).getIt()).isGreaterThan(afterId);
+            seen += page.size();
+            afterId = page.get(page.size() - 1).getIt();
+        }
+        assertThat(seen).isEqualTo(THREADS * WRITES_PER_THREAD);
+    }
+
+    @Test
+    void clientIdsCannotOverwriteStudents() {
+        StudentStore store = new StudentStore();
+        Student john = store.findById(1);
+
+        Student added = store.add(new Student(1, "Mallory", 0));
+
+        assertThat(added.getIt()).isEqualTo(4);
+        assertThat(store.findById(1)).isSameAs(john);
+    }
+
+    private interface Work<T> {
+        T run(int thread) throws Exception;
+    }
+
+    private static <T> List<T> runOnThreads(int threads, Work<T> work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                return work.run(thread);
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+        return results;
+    }
+}
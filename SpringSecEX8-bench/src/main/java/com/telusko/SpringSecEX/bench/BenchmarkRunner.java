@@ -0,0 +1,86 @@
+package com.telusko.SpringSecEX.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// runs the auth benchmarks with JSON output, and compares two of those files so regressions show up between commits
+//
+//   mvn -f ../SpringSecEX8 install -DskipTests && mvn package     (builds target/benchmarks.jar)
+//   java -cp target/benchmarks.jar com.telusko.SpringSecEX.bench.BenchmarkRunner run results/new.json [include-regex]
+//   java -cp target/benchmarks.jar com.telusko.SpringSecEX.bench.BenchmarkRunner compare results/old.json results/new.json [max-regression-%]
+//
+// compare prints every benchmark side by side and exits with 1 if one got slower by more than max-regression-% (default 10)
+public class BenchmarkRunner {
+
+    private static final String AUTH_BENCHMARKS = "JWTServiceBenchmark|PasswordEncoderBenchmark|UserPrincipleBenchmark";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && args[0].equals("run")) {
+            run(args[1], args.length > 2 ? args[2] : AUTH_BENCHMARKS);
+        } else if (args.length >= 3 && args[0].equals("compare")) {
+            boolean regressed = compare(new File(args[1]), new File(args[2]), args.length > 3 ? Double.parseDouble(args[3]) : 10.0);
+            System.exit(regressed ? 1 : 0);
+        } else {
+            System.err.println("usage: run <result.json> [include-regex] | compare <old.json> <new.json> [max-regression-%]");
+            System.exit(2);
+        }
+    }
+
+    static void run(String resultFile, String include) throws Exception {
+        File parent = new File(resultFile).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+        new Runner(options.build()).run();
+    }
+
+    static boolean compare(File oldFile, File newFile, double maxRegressionPercent) {
+        JsonMapper mapper = JsonMapper.builder().build();
+        Map<String, JsonNode> before = byName(mapper.readTree(oldFile));
+        Map<String, JsonNode> after = byName(mapper.readTree(newFile));
+
+        boolean regressed = false;
+        for (Map.Entry<String, JsonNode> entry : after.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode then = before.get(entry.getKey());
+            double score = now.path("primaryMetric").path("score").asDouble();
+            String unit = now.path("primaryMetric").path("scoreUnit").asString();
+            if (then == null) {
+                System.out.printf("%-90s %14s %14.3f %s  (new)%n", entry.getKey(), "-", score, unit);
+                continue;
+            }
+            double oldScore = then.path("primaryMetric").path("score").asDouble();
+            // thrpt: higher is better, avgt/sample/ss: lower is better
+            boolean higherIsBetter = now.path("mode").asString().equals("thrpt");
+            double change = (score - oldScore) / oldScore * 100;
+            double slowdown = higherIsBetter ? -change : change;
+            boolean bad = slowdown > maxRegressionPercent;
+            regressed |= bad;
+            System.out.printf("%-90s %14.3f %14.3f %s %+7.1f%%%s%n",
+                    entry.getKey(), oldScore, score, unit, change, bad ? "  REGRESSION" : "");
+        }
+        return regressed;
+    }
+
+    // benchmark name + its @Param values, e.g. ...PasswordEncoderBenchmark.encode{"strength":"10"}
+    private static Map<String, JsonNode> byName(JsonNode results) {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            JsonNode params = result.path("params");
+            byName.put(result.path("benchmark").asString() + (params.isMissingNode() ? "" : params.toString()), result);
+        }
+        return byName;
+    }
+}
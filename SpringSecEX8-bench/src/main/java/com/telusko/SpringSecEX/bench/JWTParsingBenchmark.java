@@ -0,0 +1,74 @@
+package com.telusko.SpringSecEX.bench;
+
+import com.telusko.SpringSecEX.service.JWTService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// tokens/sec for parsing one bearer token:
+// rebuildKeyAndParser = how JWTService worked before (decode key + build parser on every call)
+// cachedKeyAndParser  = JWTService today (key and parser built once in the constructor)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class JWTParsingBenchmark {
+
+    private String secretkey;
+    private String oldToken;
+
+    private JWTService jwtService;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        SecretKey sk = KeyGenerator.getInstance("HmacSHA256").generateKey();
+        secretkey = Base64.getEncoder().encodeToString(sk.getEncoded());
+        oldToken = Jwts.builder()
+                .subject("bench-user")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .signWith(sk)
+                .compact();
+
+        jwtService = new JWTService();
+        token = jwtService.generateToken("bench-user");
+    }
+
+    @Benchmark
+    public String rebuildKeyAndParser() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretkey));
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(oldToken)
+                .getPayload();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String cachedKeyAndParser() {
+        return jwtService.extractUserName(token);
+    }
+}
@@ -0,0 +1,64 @@
+package com.telusko.SpringSecEX.bench;
+
+import com.telusko.SpringSecEX.model.UserPrinciple;
+import com.telusko.SpringSecEX.model.VerifiedToken;
+import com.telusko.SpringSecEX.service.JWTService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+// cost of each JWTService call on the request path, single threaded
+// generateToken runs once per /login, extractUserName/validateToken on every authenticated request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTServiceBenchmark {
+
+    private JWTService jwtService;
+    private UserDetails user;
+    private String token;
+    private VerifiedToken verifiedToken;
+
+    @Setup
+    public void setup() throws Exception {
+        jwtService = new JWTService();
+        user = new UserPrinciple("bench-user", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6l6n6Zr8mG8aZ4w7b1KjQ2u");
+        token = jwtService.generateToken(user.getUsername(), user.getAuthorities());
+        verifiedToken = jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user.getUsername(), user.getAuthorities());
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtService.extractUserName(token);
+    }
+
+    // signature check + decode + subject/expiry check, what JWTFilter pays on a token cache miss
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, user);
+    }
+
+    // token already verified (VerifiedTokenCache hit), only the subject/expiry check is left
+    @Benchmark
+    public boolean validateVerifiedToken() {
+        return jwtService.validateToken(verifiedToken, user);
+    }
+}
@@ -0,0 +1,88 @@
+package com.telusko.SpringSecEX.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// latency of the login lookup (UserRepo.findCredentialsByUsername) on a generated users table,
+// with and without the uk_users_username index; H2 in PostgreSQL mode stands in for Postgres
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    // same SQL Hibernate generates for the projection query and for findByUsername
+    private static final String CREDENTIALS_SQL = "select u.username, u.password from users u where u.username = ?";
+    private static final String FULL_ROW_SQL = "select u.id, u.password, u.username from users u where u.username = ?";
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean uniqueIndex;
+
+    private Connection connection;
+    private PreparedStatement credentials;
+    private PreparedStatement fullRow;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:users_" + rows + "_" + uniqueIndex + ";MODE=PostgreSQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table users (id integer not null primary key, username varchar(255) not null, password varchar(255))");
+            statement.execute("insert into users select x, 'user' || x, '$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6l6n6Zr8mG8aZ4w7b1KjQ2u' from system_range(1, " + rows + ")");
+            if (uniqueIndex) {
+                statement.execute("alter table users add constraint uk_users_username unique (username)");
+            }
+        }
+        credentials = connection.prepareStatement(CREDENTIALS_SQL);
+        fullRow = connection.prepareStatement(FULL_ROW_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table users");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public String credentialsProjection() throws SQLException {
+        return lookup(credentials);
+    }
+
+    @Benchmark
+    public String fullEntityRow() throws SQLException {
+        return lookup(fullRow);
+    }
+
+    private String lookup(PreparedStatement statement) throws SQLException {
+        statement.setString(1, "user" + ThreadLocalRandom.current().nextInt(1, rows + 1));
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getString("password") : null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.telusko.SpringSecEX.bench;
+
+import com.telusko.SpringSecEX.model.UserCredentials;
+import com.telusko.SpringSecEX.model.UserPrinciple;
+import com.telusko.SpringSecEX.model.Users;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// UserPrinciple is built for every user load (MyUserDetailsService cache miss), run with -prof gc to see allocations
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPrincipleBenchmark {
+
+    private Users user;
+    private UserCredentials credentials;
+
+    @Setup
+    public void setup() {
+        user = new Users();
+        user.setId(1);
+        user.setUsername("bench-user");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6l6n6Zr8mG8aZ4w7b1KjQ2u");
+        credentials = new UserCredentials(user.getUsername(), user.getPassword());
+    }
+
+    @Benchmark
+    public UserPrinciple fromUsers() {
+        return new UserPrinciple(user);
+    }
+
+    // what MyUserDetailsService builds from the projection query
+    @Benchmark
+    public UserPrinciple fromCredentials() {
+        return new UserPrinciple(credentials);
+    }
+
+    // construction + the authorities lookup JWTFilter does right after
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authorities() {
+        return new UserPrinciple(credentials).getAuthorities();
+    }
+}
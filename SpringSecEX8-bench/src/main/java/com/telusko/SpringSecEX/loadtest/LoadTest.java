@@ -0,0 +1,438 @@
+package com.telusko.SpringSecEX.loadtest;
+
+import com.telusko.SpringSecEX.SpringSecExApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// end-to-end load test for the SpringSecEX8 /register, /login and /students flows
+//
+// by default it starts SpringSecEX8 in-process on a random port with H2 in PostgreSQL mode instead of Postgres,
+// so it runs anywhere without a database; target=http://host:port drives an already running app instead
+// (e.g. SpringSecEX8 with --spring.profiles.active=virtual, or SpringSecEX9 on 8081)
+//
+//   mvn -f SpringSecEX8-bench compile exec:java -Dexec.mainClass=com.telusko.SpringSecEX.loadtest.LoadTest \
+//       -Dexec.args="users=500 duration=60 mix=register:5,login:15,students:80 --security.bcrypt.strength=10"
+//
+// options (key=value): users, duration and warmup (seconds), mix (weights per flow), seed-users, seed-students,
+// seed (random seed, same seed = same request sequence), target; --key=value is passed to the embedded app
+//   label=name      name of the run in the summary, out=file.json writes the summary for compare
+//   metrics=url     Prometheus endpoint of an external target (e.g. http://localhost:8090/actuator/prometheus)
+//                   to sample its Hikari pool; the embedded app's pool is read directly
+//
+// while the measured window runs, active and pending (waiting for a connection) Hikari connections are sampled
+// every 100 ms. Two runs side by side:
+//
+//   LoadTest compare results/platform-1k.json results/virtual-1k.json
+//
+// comparisons the SpringSecEX8/9 requests ask for, each one run with the same users/duration/mix/seed:
+//   auth mode        --jwt.auth-mode=database vs --jwt.auth-mode=claims (pool usage of the /students flow)
+//   virtual threads  no profile vs --spring.profiles.active=virtual, at users=1000 and users=10000
+//   servlet/reactive target=http://localhost:8080 (SpringSecEX8) vs target=http://localhost:8081 (SpringSecEX9)
+public class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final long POOL_SAMPLE_INTERVAL_MS = 100;
+
+    enum Flow { REGISTER, LOGIN, STUDENTS }
+
+    // connections in use and requests waiting for one, at one instant
+    record PoolSample(double active, double pending) {
+    }
+
+    interface PoolSampler {
+        PoolSample sample() throws Exception;
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    private LoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+        // HTTP/1.1 like a browser or curl would use against Tomcat; one virtual thread per in-flight request
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 3 && args[0].equals("compare")) {
+            compare(new File(args[1]), new File(args[2]));
+            return;
+        }
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+            } else if (arg.contains("=")) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int seedUsers = Integer.parseInt(options.getOrDefault("seed-users", "100"));
+        int seedStudents = Integer.parseInt(options.getOrDefault("seed-students", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Map<Flow, Integer> mix = parseMix(options.getOrDefault("mix", "register:5,login:15,students:80"));
+
+        ConfigurableApplicationContext app = null;
+        String target = options.get("target");
+        if (target == null) {
+            app = startEmbedded(appArgs);
+            target = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            LoadTest test = new LoadTest(target);
+            String label = options.getOrDefault("label", app != null ? "embedded " + appArgs : target);
+            System.out.println(label + ": " + target + ", " + users + " virtual users, mix " + mix
+                    + ", " + warmup + " s warmup + " + duration + " s measured");
+            String seedToken = test.seed(seedUsers, seedStudents);
+
+            PoolSampler pool = null;
+            if (app != null) {
+                HikariPoolMXBean hikari = app.getBean(HikariDataSource.class).getHikariPoolMXBean();
+                pool = () -> new PoolSample(hikari.getActiveConnections(), hikari.getThreadsAwaitingConnection());
+            } else if (options.containsKey("metrics")) {
+                String metricsUrl = options.get("metrics");
+                pool = () -> test.scrapePool(metricsUrl);
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("label", label);
+            summary.put("users", users);
+            summary.put("duration", duration);
+            summary.put("mix", mix.toString());
+            summary.putAll(test.run(users, warmup, duration, mix, seedUsers, seed, seedToken, pool));
+            if (options.containsKey("out")) {
+                File out = new File(options.get("out")).getAbsoluteFile();
+                out.getParentFile().mkdirs();
+                JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(out, summary);
+                System.out.println("Summary written to " + out);
+            }
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    // SpringSecEX8 with its Postgres settings swapped for an in-memory H2 that speaks the PostgreSQL dialect
+    // in-memory H2 instead of the Postgres in application.properties; passed as command line arguments so they win
+    // over application.properties, and any --key=value given to LoadTest wins over them
+    private static ConfigurableApplicationContext startEmbedded(List<String> appArgs) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", "0");
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        defaults.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        defaults.put("spring.datasource.username", "sa");
+        defaults.put("spring.datasource.password", "");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        defaults.put("spring.jpa.show-sql", "false");
+        defaults.put("management.server.port", "0");
+        defaults.put("spring.devtools.restart.enabled", "false");
+
+        List<String> args = new ArrayList<>(appArgs);
+        defaults.forEach((key, value) -> {
+            if (appArgs.stream().noneMatch(arg -> arg.startsWith("--" + key + "="))) {
+                args.add("--" + key + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(SpringSecExApplication.class).run(args.toArray(String[]::new));
+    }
+
+    // users loadtest-0..n-1 for the login flow, a student table for the read flow; returns a token for seeding
+    private String seed(int seedUsers, int seedStudents) throws Exception {
+        for (int i = 0; i < seedUsers; i++) {
+            HttpResponse<String> response = post("/register", credentialsJson("loadtest-" + i), null);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("seeding user " + i + " failed: " + response.statusCode() + " " + response.body());
+            }
+        }
+        String token = login("loadtest-0");
+
+        // "it" is ignored by the server (ids come from student_seq) but Jackson binds Student through its constructor,
+        // which needs every primitive
+        StringBuilder students = new StringBuilder("[");
+        for (int i = 0; i < seedStudents; i++) {
+            students.append(i == 0 ? "" : ",").append("{\"it\":0,\"name\":\"student-").append(i).append("\",\"marks\":").append(i % 100).append('}');
+        }
+        HttpResponse<String> response = post("/students/bulk", students.append(']').toString(), token);
+        if (response.statusCode() != 200) {
+            System.out.println("Seeding students failed (" + response.statusCode() + "), /students pages will be empty");
+        }
+        return token;
+    }
+
+    private Map<String, Object> run(int users, int warmup, int duration, Map<Flow, Integer> mix, int seedUsers, long seed,
+                                    String seedToken, PoolSampler pool) throws InterruptedException {
+        Flow[] wheel = mix.entrySet().stream()
+                .flatMap(e -> Stream.generate(e::getKey).limit(e.getValue()))
+                .toArray(Flow[]::new);
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmup).toNanos();
+        long stopAt = measureFrom + Duration.ofSeconds(duration).toNanos();
+        AtomicInteger registered = new AtomicInteger();
+
+        List<PoolSample> poolSamples = Collections.synchronizedList(new ArrayList<>());
+        Thread sampler = pool == null ? null : Thread.ofVirtual().start(() -> samplePool(pool, measureFrom, stopAt, poolSamples));
+
+        List<Recorder> recorders = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(users);
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+                Random random = new Random(seed + u);
+                virtualUsers.submit(() -> {
+                    try {
+                        String token = seedToken;
+                        while (System.nanoTime() < stopAt) {
+                            Flow flow = wheel[random.nextInt(wheel.length)];
+                            long begin = System.nanoTime();
+                            int status;
+                            try {
+                                HttpResponse<String> response = switch (flow) {
+                                    case REGISTER -> post("/register", credentialsJson("loadtest-new-" + seed + "-" + registered.incrementAndGet()), null);
+                                    case LOGIN -> post("/login", credentialsJson("loadtest-" + random.nextInt(seedUsers)), null);
+                                    case STUDENTS -> get("/students?afterId=" + random.nextInt(1000) + "&size=50", token);
+                                };
+                                status = response.statusCode();
+                                if (flow == Flow.LOGIN && status == 200) {
+                                    token = accessToken(response.body());
+                                }
+                            } catch (Exception e) {
+                                status = -1;
+                            }
+                            long end = System.nanoTime();
+                            if (begin >= measureFrom) {
+                                recorder.record(flow, end - begin, status);
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        if (sampler != null) {
+            sampler.join();
+        }
+        return report(recorders, duration, poolSamples);
+    }
+
+    private static void samplePool(PoolSampler pool, long measureFrom, long stopAt, List<PoolSample> samples) {
+        try {
+            Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+            while (System.nanoTime() < stopAt) {
+                try {
+                    samples.add(pool.sample());
+                } catch (Exception e) {
+                    // a missed scrape is just a missing sample
+                }
+                Thread.sleep(POOL_SAMPLE_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // sums every Hikari pool the app reports; Boot binds hikaricp.connections.* to the registry by itself
+    private PoolSample scrapePool(String metricsUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(metricsUrl)).timeout(Duration.ofSeconds(5)).GET().build();
+        double active = 0;
+        double pending = 0;
+        for (String line : client.send(request, HttpResponse.BodyHandlers.ofString()).body().split("\n")) {
+            if (line.startsWith("hikaricp_connections_active")) {
+                active += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            } else if (line.startsWith("hikaricp_connections_pending")) {
+                pending += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return new PoolSample(active, pending);
+    }
+
+    private Map<String, Object> report(List<Recorder> recorders, int duration, List<PoolSample> poolSamples) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        System.out.printf("%n%-9s %9s %10s %8s %8s %10s %10s %10s %10s%n",
+                "flow", "requests", "req/s", "errors", "error%", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Flow flow : Flow.values()) {
+            long[] latencies = recorders.stream()
+                    .flatMapToLong(r -> Arrays.stream(r.latencies[flow.ordinal()], 0, r.counts[flow.ordinal()]))
+                    .sorted()
+                    .toArray();
+            Map<Integer, Integer> errors = new TreeMap<>();
+            recorders.forEach(r -> r.errors[flow.ordinal()].forEach((status, n) -> errors.merge(status, n, Integer::sum)));
+            int errorCount = errors.values().stream().mapToInt(Integer::intValue).sum();
+            if (latencies.length == 0) {
+                System.out.printf("%-9s %9d%n", flow.name().toLowerCase(), 0);
+                continue;
+            }
+            System.out.printf("%-9s %9d %10.1f %8d %7.2f%% %10.2f %10.2f %10.2f %10.2f%s%n",
+                    flow.name().toLowerCase(), latencies.length, (double) latencies.length / duration,
+                    errorCount, 100.0 * errorCount / latencies.length,
+                    millis(percentile(latencies, 50)), millis(percentile(latencies, 99)),
+                    millis(percentile(latencies, 99.9)), millis(latencies[latencies.length - 1]),
+                    errors.isEmpty() ? "" : "  status " + errors); // -1 = connection error / timeout
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", latencies.length);
+            row.put("req/s", (double) latencies.length / duration);
+            row.put("error%", 100.0 * errorCount / latencies.length);
+            row.put("p50 ms", millis(percentile(latencies, 50)));
+            row.put("p99 ms", millis(percentile(latencies, 99)));
+            row.put("p999 ms", millis(percentile(latencies, 99.9)));
+            row.put("max ms", millis(latencies[latencies.length - 1]));
+            summary.put(flow.name().toLowerCase(), row);
+        }
+
+        if (!poolSamples.isEmpty()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("active avg", poolSamples.stream().mapToDouble(PoolSample::active).average().orElse(0));
+            row.put("active max", poolSamples.stream().mapToDouble(PoolSample::active).max().orElse(0));
+            row.put("pending avg", poolSamples.stream().mapToDouble(PoolSample::pending).average().orElse(0));
+            row.put("pending max", poolSamples.stream().mapToDouble(PoolSample::pending).max().orElse(0));
+            // share of samples where some request was waiting for a connection = the pool was the bottleneck
+            row.put("waiting%", 100.0 * poolSamples.stream().filter(sample -> sample.pending() > 0).count() / poolSamples.size());
+            System.out.printf("%nconnection pool (%d samples): active avg %.1f max %.0f, pending avg %.1f max %.0f, waiting %.1f%% of the time%n",
+                    poolSamples.size(), row.get("active avg"), row.get("active max"), row.get("pending avg"),
+                    row.get("pending max"), row.get("waiting%"));
+            summary.put("pool", row);
+        }
+        return summary;
+    }
+
+    // every number of two summaries (out=...) side by side; which direction is better depends on the metric
+    static void compare(File first, File second) {
+        JsonMapper mapper = JsonMapper.builder().build();
+        JsonNode a = mapper.readTree(first);
+        JsonNode b = mapper.readTree(second);
+        System.out.printf("%-22s %16s %16s %9s%n", "", a.path("label").asString(), b.path("label").asString(), "change");
+        for (String section : List.of("register", "login", "students", "pool")) {
+            JsonNode before = a.path(section);
+            JsonNode after = b.path(section);
+            if (before.isMissingNode() && after.isMissingNode()) {
+                continue;
+            }
+            for (String metric : (before.isMissingNode() ? after : before).propertyNames()) {
+                double x = before.path(metric).isNumber() ? before.path(metric).asDouble() : Double.NaN;
+                double y = after.path(metric).isNumber() ? after.path(metric).asDouble() : Double.NaN;
+                String change = x == 0 || Double.isNaN(x) || Double.isNaN(y) ? "" : String.format("%+8.1f%%", (y - x) / x * 100);
+                System.out.printf("%-9s %-12s %16.2f %16.2f %9s%n", section, metric, x, y, change);
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private String login(String username) throws Exception {
+        HttpResponse<String> response = post("/login", credentialsJson(username), null);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("login as " + username + " failed: " + response.statusCode());
+        }
+        return accessToken(response.body());
+    }
+
+    // SpringSecEX8 answers /login with a TokenResponse JSON, SpringSecEX9 with the bare token
+    private static String accessToken(String loginBody) {
+        Matcher matcher = ACCESS_TOKEN.matcher(loginBody);
+        return matcher.find() ? matcher.group(1) : loginBody;
+    }
+
+    private HttpResponse<String> post(String path, String json, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String credentialsJson(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    // register:5,login:15,students:80 -> relative weights
+    private static Map<Flow, Integer> parseMix(String mix) {
+        Map<Flow, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] flowAndWeight = part.split(":");
+            weights.put(Flow.valueOf(flowAndWeight[0].trim().toUpperCase()), Integer.parseInt(flowAndWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    // one per virtual user, so recording never contends; merged once the run is over
+    private static final class Recorder {
+        final long[][] latencies = new long[Flow.values().length][1024];
+        final int[] counts = new int[Flow.values().length];
+        @SuppressWarnings("unchecked")
+        final Map<Integer, Integer>[] errors = new Map[Flow.values().length];
+
+        Recorder() {
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = new TreeMap<>();
+            }
+        }
+
+        void record(Flow flow, long nanos, int status) {
+            int f = flow.ordinal();
+            if (counts[f] == latencies[f].length) {
+                latencies[f] = Arrays.copyOf(latencies[f], counts[f] * 2);
+            }
+            latencies[f][counts[f]++] = nanos;
+            if (status < 200 || status >= 300) {
+                errors[f].merge(status, 1, Integer::sum);
+            }
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.telusko.SpringSecEX;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// SigningKeyRotation polls the JWT keystore
+@EnableScheduling
 @SpringBootApplication
 public class SpringSecExApplication {
 
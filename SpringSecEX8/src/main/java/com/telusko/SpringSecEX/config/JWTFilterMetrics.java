@@ -0,0 +1,102 @@
+package com.telusko.SpringSecEX.config;
+
+import com.telusko.SpringSecEX.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// per-stage timers for JWTFilter, scraped from /actuator/prometheus
+// every stage/outcome pair is registered up front and kept in a field, so recording is a nanoTime diff
+// plus a bucket increment: no tag lists, no registry lookup, no Timer.Sample per request
+@Component
+public class JWTFilterMetrics {
+
+    public enum Outcome {
+        NO_TOKEN, CACHE_HIT, VALID, EXPIRED, BAD_SIGNATURE, MALFORMED, REVOKED, UNKNOWN_USER, INVALID, AUTHENTICATED,
+        // valid token, but something earlier in the chain had already authenticated the request
+        ALREADY_AUTHENTICATED;
+
+        final String tag = name().toLowerCase();
+    }
+
+    final Timer verifyCacheHit;
+    final Timer verifyValid;
+    final Timer verifyExpired;
+    final Timer verifyBadSignature;
+    final Timer verifyMalformed;
+    final Timer revocationValid;
+    final Timer revocationRevoked;
+    final Timer userLoadValid;
+    final Timer userLoadUnknownUser;
+    final Timer userLoadInvalid;
+    final Timer contextSetup;
+
+    // header parse is tagged with the request's final outcome, so it has one timer per outcome like the counter
+    private final Timer[] headerParse = new Timer[Outcome.values().length];
+    private final Counter[] requests = new Counter[Outcome.values().length];
+
+    public JWTFilterMetrics(MeterRegistry registry, VerifiedTokenCache tokenCache) {
+        verifyCacheHit = timer(registry, "verify", Outcome.CACHE_HIT);
+        verifyValid = timer(registry, "verify", Outcome.VALID);
+        verifyExpired = timer(registry, "verify", Outcome.EXPIRED);
+        verifyBadSignature = timer(registry, "verify", Outcome.BAD_SIGNATURE);
+        verifyMalformed = timer(registry, "verify", Outcome.MALFORMED);
+        revocationValid = timer(registry, "revocation_check", Outcome.VALID);
+        revocationRevoked = timer(registry, "revocation_check", Outcome.REVOKED);
+        userLoadValid = timer(registry, "user_load", Outcome.VALID);
+        userLoadUnknownUser = timer(registry, "user_load", Outcome.UNKNOWN_USER);
+        userLoadInvalid = timer(registry, "user_load", Outcome.INVALID);
+        contextSetup = timer(registry, "context_setup", Outcome.VALID);
+
+        for (Outcome outcome : Outcome.values()) {
+            headerParse[outcome.ordinal()] = timer(registry, "header_parse", outcome);
+            requests[outcome.ordinal()] = Counter.builder("jwt.filter.requests")
+                    .description("requests through JWTFilter by final outcome")
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+        }
+
+        // the cache keeps its own LongAdders, these just read them at scrape time
+        FunctionCounter.builder("jwt.token.cache.requests", tokenCache, VerifiedTokenCache::getHits)
+                .description("verified-token cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("jwt.token.cache.requests", tokenCache, VerifiedTokenCache::getMisses)
+                .description("verified-token cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("jwt.token.cache.evictions", tokenCache, VerifiedTokenCache::getEvictions)
+                .description("live tokens pushed out of the verified-token cache by max-size")
+                .register(registry);
+        Gauge.builder("jwt.token.cache.size", tokenCache, VerifiedTokenCache::size)
+                .description("tokens in the verified-token cache")
+                .register(registry);
+    }
+
+    // fixed Prometheus buckets between 1 µs and 1 s instead of client-side percentiles, which cost far more per record
+    private static Timer timer(MeterRegistry registry, String stage, Outcome outcome) {
+        return Timer.builder("jwt.filter.stage")
+                .description("time spent in one stage of JWTFilter")
+                .tag("stage", stage)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void request(Outcome outcome, long headerParseNanos) {
+        requests[outcome.ordinal()].increment();
+        headerParse[outcome.ordinal()].record(headerParseNanos, TimeUnit.NANOSECONDS);
+    }
+}
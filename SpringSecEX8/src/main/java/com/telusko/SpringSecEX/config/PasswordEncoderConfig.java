@@ -0,0 +1,54 @@
+package com.telusko.SpringSecEX.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+// one BCrypt encoder for the whole app (SecurityConfig + UserService)
+// the cost is pinned by security.bcrypt.strength, or else picked at startup so a hash takes about
+// password.bcrypt.target-ms on this machine. The stock encoder only asks for a rehash when a stored hash has a
+// lower cost, so instances with different costs don't keep rewriting each other's hashes
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    private static final int PROBE_STRENGTH = 8;
+    private static final int MAX_STRENGTH = 16;
+
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:0}") int fixedStrength,
+                                                 @Value("${password.bcrypt.target-ms:250}") long targetMillis,
+                                                 @Value("${password.bcrypt.min-strength:10}") int minStrength) {
+        int strength = fixedStrength > 0 ? fixedStrength : calibrate(targetMillis, minStrength);
+        if (fixedStrength > 0) {
+            log.info("BCrypt strength {} (configured)", strength);
+        } else {
+            log.info("BCrypt strength {} (calibrated for {} ms)", strength, targetMillis);
+        }
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // every +1 of strength doubles the work, so time one cheap cost and extrapolate
+    static int calibrate(long targetMillis, int minStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode("calibration"); // warm up the JIT
+
+        long[] samples = new long[5];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double probeMillis = Math.max(samples[samples.length / 2] / 1_000_000.0, 0.01);
+
+        int strength = PROBE_STRENGTH + (int) Math.round(Math.log(targetMillis / probeMillis) / Math.log(2));
+        return Math.max(minStrength, Math.min(MAX_STRENGTH, strength));
+    }
+}
@@ -0,0 +1,30 @@
+package com.telusko.SpringSecEX.controller;
+
+import com.telusko.SpringSecEX.service.JWTService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// public keys for RS256/EdDSA tokens, so other services (or a gateway) can verify our tokens without calling us;
+// always an empty set with HS256, the shared secret is never published
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JWTService jwtService;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<?>>> jwks()
+    {
+        // short max-age: verifiers pick up a rotated key within minutes, and re-fetch anyway on an unknown kid
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", jwtService.getSigningKeys().publicJwks()));
+    }
+}
@@ -1,11 +1,31 @@
 package com.telusko.SpringSecEX.controller;
 
+import com.telusko.SpringSecEX.model.RefreshRequest;
+import com.telusko.SpringSecEX.model.TokenResponse;
 import com.telusko.SpringSecEX.model.Users;
+import com.telusko.SpringSecEX.service.BulkRegistrationService;
+import com.telusko.SpringSecEX.service.PasswordWorkPool;
 import com.telusko.SpringSecEX.service.UserService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 public class UserController {
@@ -13,15 +33,79 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordWorkPool passwordWorkPool;
+
+    @Autowired
+    private BulkRegistrationService bulkRegistrationService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    // both endpoints hash/check a password, so they run on the password pool and free the Tomcat thread
     @PostMapping("/register")
-    public Users register(@RequestBody Users user)
+    public CompletableFuture<Users> register(@RequestBody Users user)
     {
-        return userService.register(user);
+        return passwordWorkPool.submit(() -> userService.register(user));
+    }
+
+    // NDJSON in, NDJSON out: one Users object per line, one BulkRegistrationResult per line back
+    @PostMapping(value = "/register/bulk", consumes = "application/x-ndjson")
+    public void registerBulk(HttpServletRequest request, HttpServletResponse response) throws IOException
+    {
+        response.setContentType("application/x-ndjson");
+        PrintWriter writer = response.getWriter();
+        bulkRegistrationService.registerAll(request.getReader(),
+                result -> writer.println(jsonMapper.writeValueAsString(result)));
+        writer.flush();
     }
 
     @PostMapping("/login")
-    public String login(@RequestBody Users user)
+    public CompletableFuture<TokenResponse> login(@RequestBody Users user)
+    {
+        return passwordWorkPool.submit(() -> userService.verify(user));
+    }
+
+    // no password check here, so it stays on the request thread
+    @PostMapping("/refresh")
+    public TokenResponse refresh(@RequestBody RefreshRequest request)
+    {
+        return userService.refresh(request.refreshToken());
+    }
+
+    // revokes the caller's access token and, if sent, its refresh token
+    // (not /logout, Spring Security's LogoutFilter owns that path)
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) RefreshRequest request)
+    {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            // e.g. authenticated with httpBasic: there is no access token to revoke
+            return ResponseEntity.badRequest().build();
+        }
+        userService.revoke(authorization.substring("Bearer ".length()), request == null ? null : request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler({JwtException.class, AuthenticationException.class})
+    public ResponseEntity<String> invalidToken()
+    {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials or token");
+    }
+
+    // /register with a username that is already taken (uk_users_username)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> usernameTaken()
+    {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already taken");
+    }
+
+    // password pool queue is full
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> tooManyRequests()
     {
-        return userService.verify(user);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Too many login/register requests, try again shortly");
     }
 }
@@ -0,0 +1,13 @@
+package com.telusko.SpringSecEX.model;
+
+// one line of the /register/bulk response, line is the 1-based line number in the uploaded NDJSON
+public record BulkRegistrationResult(int line, String username, String status, String error) {
+
+    public static BulkRegistrationResult created(int line, String username) {
+        return new BulkRegistrationResult(line, username, "CREATED", null);
+    }
+
+    public static BulkRegistrationResult failed(int line, String username, String error) {
+        return new BulkRegistrationResult(line, username, "FAILED", error);
+    }
+}
@@ -0,0 +1,5 @@
+package com.telusko.SpringSecEX.model;
+
+// body of /refresh and /logout
+public record RefreshRequest(String refreshToken) {
+}
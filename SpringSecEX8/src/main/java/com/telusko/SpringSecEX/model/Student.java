@@ -1,10 +1,25 @@
 package com.telusko.SpringSecEX.model;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+
+@Entity
 public class Student {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
+    @Column(name = "id")
     private int it;
     private String name;
     private int marks;
 
+    public Student() {
+    }
+
     public Student(int it, String name, int marks) {
         this.it = it;
         this.name = name;
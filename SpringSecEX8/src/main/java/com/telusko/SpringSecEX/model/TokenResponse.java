@@ -0,0 +1,6 @@
+package com.telusko.SpringSecEX.model;
+
+// /login and /refresh: a short-lived access token for API calls, a long-lived refresh token for /refresh
+// expiresIn = access token lifetime in seconds
+public record TokenResponse(String accessToken, String refreshToken, String tokenType, long expiresIn) {
+}
@@ -1,12 +1,24 @@
 package com.telusko.SpringSecEX.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+// unique constraint = unique index on username, so findByUsername is an index lookup instead of a table scan
 @Entity
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_username", columnNames = "username"))
 public class Users {
+    // ids come from users_seq; allocationSize 50 + Hibernate's pooled optimizer = one sequence call per 50 inserts
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private int id;
+    @Column(nullable = false)
     private String username;
     private String password;
 
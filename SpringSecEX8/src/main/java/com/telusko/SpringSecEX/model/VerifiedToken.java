@@ -0,0 +1,16 @@
+package com.telusko.SpringSecEX.model;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+// result of checking a token once: signature is already verified, so callers just read the fields
+// authorities is null when the token carries no roles claim, id (jti) is null for tokens issued before it existed
+// refresh = only good for /refresh, JWTFilter doesn't accept it as an access token
+public record VerifiedToken(String subject, String id, Instant expiration, List<String> authorities, boolean refresh, Claims claims) {
+
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,25 @@
+package com.telusko.SpringSecEX.repo;
+
+import com.telusko.SpringSecEX.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepo extends JpaRepository<RevokedToken, String> {
+
+    // ids only, this is what the Bloom filter is rebuilt from
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveIds(@Param("now") Instant now);
+
+    // one DELETE statement instead of loading and removing row by row
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+
+}
@@ -0,0 +1,14 @@
+package com.telusko.SpringSecEX.repo;
+
+import com.telusko.SpringSecEX.model.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface StudentRepo extends JpaRepository<Student, Integer> {
+
+    // keyset page: WHERE id > ? ORDER BY id LIMIT ?, walks the primary key index however deep the page is
+    List<Student> findByItGreaterThanOrderByItAsc(int afterId, Limit limit);
+
+}
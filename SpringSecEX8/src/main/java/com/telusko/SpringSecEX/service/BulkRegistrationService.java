@@ -0,0 +1,146 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.BulkRegistrationResult;
+import com.telusko.SpringSecEX.model.Users;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+// registers users from an NDJSON stream (one Users JSON object per line) in batches:
+// batch N+1 is hashed on the password pool's bulk lane while batch N is being inserted, results come back per line
+@Service
+public class BulkRegistrationService {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordWorkPool passwordWorkPool;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${users.bulk.batch-size:500}")
+    private int batchSize;
+
+    private record Row(int line, Users user, String error) {
+    }
+
+    public void registerAll(BufferedReader ndjson, Consumer<BulkRegistrationResult> results) throws IOException {
+        List<Row> batch = new ArrayList<>(batchSize);
+        CompletableFuture<List<Row>> hashed = null;
+        int lineNumber = 0;
+        String line;
+
+        while ((line = ndjson.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            batch.add(parse(lineNumber, line));
+            if (batch.size() == batchSize) {
+                hashed = hashNextAndInsertPrevious(batch, hashed, results);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            hashed = hashNextAndInsertPrevious(batch, hashed, results);
+        }
+        if (hashed != null) {
+            insert(hashed.join(), results);
+        }
+    }
+
+    private CompletableFuture<List<Row>> hashNextAndInsertPrevious(List<Row> batch, CompletableFuture<List<Row>> previous,
+                                                                 Consumer<BulkRegistrationResult> results) {
+        CompletableFuture<List<Row>> next = hash(batch);
+        if (previous != null) {
+            insert(previous.join(), results);
+        }
+        return next;
+    }
+
+    private Row parse(int line, String json) {
+        try {
+            Users user = jsonMapper.readValue(json, Users.class);
+            if (user.getUsername() == null || user.getPassword() == null) {
+                return new Row(line, user, "username and password are required");
+            }
+            return new Row(line, user, null);
+        } catch (JacksonException e) {
+            return new Row(line, null, "invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // one pool job per row; blocks while the bulk lane's queue is full. A row that fails to hash (e.g. a password
+    // over BCrypt's 72 bytes) comes back with an error like any other bad row instead of failing the batch
+    private CompletableFuture<List<Row>> hash(List<Row> batch) {
+        List<CompletableFuture<Row>> hashed = batch.stream()
+                .map(row -> row.error() != null ? CompletableFuture.completedFuture(row) : hashOne(row))
+                .toList();
+        return CompletableFuture.allOf(hashed.toArray(CompletableFuture[]::new))
+                .thenApply(done -> hashed.stream().map(CompletableFuture::join).toList());
+    }
+
+    private CompletableFuture<Row> hashOne(Row row) {
+        CompletableFuture<Row> hashed;
+        try {
+            hashed = passwordWorkPool.submitBulk(() -> {
+                userService.hashPassword(row.user());
+                return row;
+            });
+        } catch (RejectedExecutionException e) {
+            hashed = CompletableFuture.failedFuture(e);
+        }
+        return hashed.exceptionally(e -> new Row(row.line(), row.user(),
+                "password could not be hashed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+    }
+
+    private void insert(List<Row> batch, Consumer<BulkRegistrationResult> results) {
+        List<Users> valid = batch.stream()
+                .filter(row -> row.error() == null)
+                .map(Row::user)
+                .toList();
+
+        boolean batchSaved;
+        try {
+            userService.saveAll(valid);
+            batchSaved = true;
+        } catch (RuntimeException e) {
+            // one bad row (e.g. a taken username) fails the whole batch, redo it row by row below
+            batchSaved = false;
+        }
+
+        for (Row row : batch) {
+            String username = row.user() == null ? null : row.user().getUsername();
+            if (row.error() != null) {
+                results.accept(BulkRegistrationResult.failed(row.line(), username, row.error()));
+            } else if (batchSaved) {
+                results.accept(BulkRegistrationResult.created(row.line(), username));
+            } else {
+                results.accept(saveOne(row));
+            }
+        }
+    }
+
+    private BulkRegistrationResult saveOne(Row row) {
+        try {
+            userService.save(row.user());
+            return BulkRegistrationResult.created(row.line(), row.user().getUsername());
+        } catch (RuntimeException e) {
+            return BulkRegistrationResult.failed(row.line(), row.user().getUsername(),
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+}
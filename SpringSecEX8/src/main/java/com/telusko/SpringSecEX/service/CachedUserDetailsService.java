@@ -0,0 +1,123 @@
+package com.telusko.SpringSecEX.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// sits in front of MyUserDetailsService so an authenticated request doesn't cost a database round trip
+// @Primary -> this is the UserDetailsService that SecurityConfig and JWTFilter get injected
+@Service
+@Primary
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final MyUserDetailsService delegate;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    // one future per username: concurrent misses for the same user wait on a single database lookup
+    private final ConcurrentHashMap<String, Entry> users = new ConcurrentHashMap<>();
+    // FIFO of inserted entries, the oldest go once there are more than maxSize (same scheme as VerifiedTokenCache)
+    private final ConcurrentLinkedQueue<Node> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private record Entry(CompletableFuture<UserDetails> user, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    private record Node(String username, Entry entry) {
+    }
+
+    public CachedUserDetailsService(MyUserDetailsService delegate,
+                                    @Value("${users.cache.ttl-seconds:60}") long ttlSeconds,
+                                    @Value("${users.cache.max-size:100000}") int maxSize) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+
+        Entry entry = users.get(username);
+        if (entry != null && !entry.isExpired(now)) {
+            return await(entry);
+        }
+
+        Entry candidate = new Entry(new CompletableFuture<>(), now + ttlMillis);
+        entry = users.compute(username, (name, existing) ->
+                existing == null || existing.isExpired(now) ? candidate : existing);
+
+        if (entry == candidate) {
+            insertionOrder.add(new Node(username, candidate));
+            queued.incrementAndGet();
+            evictOldest();
+            // we won the race, everyone else asking for this user is waiting on our future
+            try {
+                candidate.user().complete(delegate.loadUserByUsername(username));
+            } catch (RuntimeException e) {
+                // failures are not cached, the next request tries the database again
+                users.remove(username, candidate);
+                candidate.user().completeExceptionally(e);
+            }
+        }
+        return await(entry);
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetails updated = delegate.updatePassword(user, newPassword);
+        evict(user.getUsername());
+        return updated;
+    }
+
+    // call when a user's password or authorities change so the next request reloads them
+    public void evict(String username) {
+        users.remove(username);
+    }
+
+    public void evictAll() {
+        users.clear();
+        insertionOrder.clear();
+        queued.set(0);
+    }
+
+    // O(1) per insert; a node whose entry was already replaced or evicted just frees its slot
+    private void evictOldest() {
+        while (queued.get() > maxSize) {
+            Node oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            users.remove(oldest.username(), oldest.entry());
+        }
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    private static UserDetails await(Entry entry) {
+        try {
+            return entry.user().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,87 +1,157 @@
 package com.telusko.SpringSecEX.service;
 
+import com.telusko.SpringSecEX.model.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
 import java.security.Key;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JWTService {
 
-    private String secretkey = "";
+    // authorities are embedded under this claim so JWTFilter can run in claims-only mode
+    public static final String AUTHORITIES_CLAIM = "roles";
 
-    public JWTService() throws NoSuchAlgorithmException {
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey sk = keyGen.generateKey();
-            secretkey = Base64.getEncoder().encodeToString(sk.getEncoded());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
+    // "refresh" on refresh tokens, absent on access tokens
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String REFRESH_TYPE = "refresh";
+
+    public static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofHours(1);
+    public static final Duration REFRESH_TOKEN_VALIDITY = Duration.ofDays(14);
+
+    // swapped as a whole by SigningKeyRotation; signing and verification read it once per token
+    private volatile SigningKeys signingKeys;
+
+    // thread safe and built once; it finds the key for each token through its kid header
+    private final JwtParser parser;
+
+    // random HS256 key, for tests and benchmarks that just need a working service
+    public JWTService() {
+        this(SigningKeys.generated(SigningKeys.Algorithm.HS256));
+    }
+
+    @Autowired
+    public JWTService(SigningKeyLoader loader) {
+        this(loader.load());
+    }
+
+    public JWTService(SigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, List.of());
+    }
 
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        return sign(username, claims, ACCESS_TOKEN_VALIDITY);
+    }
+
+    // only accepted by /refresh, carries no roles: fresh ones are loaded when it is exchanged
+    public String generateRefreshToken(String username) {
+        return sign(username, Map.of(TOKEN_TYPE_CLAIM, REFRESH_TYPE), REFRESH_TOKEN_VALIDITY);
+    }
+
+    private String sign(String username, Map<String, Object> claims, Duration validity) {
+        SigningKeys keys = signingKeys;
+        long now = System.currentTimeMillis();
 
         return Jwts.builder()
                 .claims()
                 .add(claims)
+                // jti: what the revocation list refers to
+                .id(UUID.randomUUID().toString())
                 .subject(username)
-                .issuedAt(new java.util.Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 60)) // 1 hour validity
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + validity.toMillis()))
                 .and()
-                .signWith(getKey())
+                .header()
+                .keyId(keys.activeKeyId())
+                .and()
+                .signWith(keys.signingKey())
                 .compact();
     }
 
-    private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretkey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Key verificationKey(String keyId) {
+        SigningKeys keys = signingKeys;
+        // tokens from before kid headers were added can only have been signed with the active key
+        Key key = keys.verificationKey(keyId != null ? keyId : keys.activeKeyId());
+        if (key == null) {
+            // removed by a rotation, or signed by someone else
+            throw new SignatureException("Unknown JWT signing key id " + keyId);
+        }
+        return key;
     }
 
+    public SigningKeys getSigningKeys() {
+        return signingKeys;
+    }
 
-    public String extractUserName(String token) {
-        //extract the username from the token using the secret key
-        return extractClaim(token, Claims::getSubject);
+    public void setSigningKeys(SigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
     }
 
-    private <T> T extractClaim(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+
+    public String extractUserName(String token) {
+        //extract the username from the token using the secret key
+        return extractAllClaims(token).getSubject();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    // verifies the signature and decodes the payload exactly once, throws JwtException if the token is bad or expired
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(claims.getSubject(), claims.getId(), claims.getExpiration().toInstant(), extractAuthorities(claims),
+                REFRESH_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM)), claims);
+    }
+
+    // null when the token was issued without the claim, e.g. before it existed
+    private List<String> extractAuthorities(Claims claims) {
+        if (!(claims.get(AUTHORITIES_CLAIM) instanceof List<?> roles)) {
+            return null;
+        }
+        return roles.stream()
+                .map(String::valueOf)
+                .toList();
     }
 
-    private boolean isTokenExpired (String token)
-    {
-        return extractExpiration(token).before(new Date());
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(verify(token), userDetails);
     }
 
-    private Date extractExpiration(String token)
-    {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return (verifiedToken.subject().equals(userDetails.getUsername()) && !verifiedToken.isExpired());
     }
 }
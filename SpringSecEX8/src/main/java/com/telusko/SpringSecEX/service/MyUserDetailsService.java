@@ -1,16 +1,18 @@
 package com.telusko.SpringSecEX.service;
 
+import com.telusko.SpringSecEX.model.UserCredentials;
 import com.telusko.SpringSecEX.model.UserPrinciple;
 import com.telusko.SpringSecEX.model.Users;
 import com.telusko.SpringSecEX.repo.UserRepo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepo repo;
@@ -19,7 +21,7 @@ public class MyUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // TODO Auto-generated method stub
 
-        Users user = repo.findByUsername(username);
+        UserCredentials user = repo.findCredentialsByUsername(username);
         if (user == null) {
             System.out.println("User not found " + username);
             throw new UsernameNotFoundException("User not found " + username);
@@ -27,4 +29,12 @@ public class MyUserDetailsService implements UserDetailsService {
         return new UserPrinciple(user);
 
     }
+
+    // called by DaoAuthenticationProvider after a successful login when the stored hash has a lower BCrypt cost than ours
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        Users user = repo.findByUsername(userDetails.getUsername());
+        user.setPassword(newPassword);
+        return new UserPrinciple(repo.save(user));
+    }
 }
@@ -0,0 +1,122 @@
+package com.telusko.SpringSecEX.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// BCrypt is deliberately slow, so /login and /register run it here instead of on Tomcat's worker threads
+// a full queue rejects new work straight away (-> 429) instead of letting logins pile up
+// /register/bulk gets its own, smaller lane so one large upload can't take every core or crowd out logins
+@Component
+public class PasswordWorkPool implements DisposableBean {
+
+    private final Lane interactive;
+    private final Lane bulk;
+
+    private static final class Lane {
+        final ThreadPoolExecutor executor;
+        final Timer workTimer;
+        final Timer queueWaitTimer;
+        final Counter rejected;
+
+        Lane(String name, int threads, int queueCapacity, boolean virtualThreads, RejectedExecutionHandler whenFull,
+             MeterRegistry registry) {
+            ThreadFactory threadFactory = virtualThreads
+                    ? Thread.ofVirtual().name("password-" + name + "-", 0).factory()
+                    : Thread.ofPlatform().name("password-" + name + "-", 0).daemon(true).factory();
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory, whenFull);
+
+            Gauge.builder("password.pool.queue.depth", executor, e -> e.getQueue().size())
+                    .description("password hashing jobs waiting for a thread")
+                    .tag("lane", name)
+                    .register(registry);
+            Gauge.builder("password.pool.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("password hashing jobs currently running")
+                    .tag("lane", name)
+                    .register(registry);
+            workTimer = Timer.builder("password.pool.hash.time")
+                    .description("time spent hashing or checking a password, including the user lookup")
+                    .tag("lane", name)
+                    .register(registry);
+            queueWaitTimer = Timer.builder("password.pool.queue.wait")
+                    .description("time a password job waited in the queue")
+                    .tag("lane", name)
+                    .register(registry);
+            rejected = Counter.builder("password.pool.rejected")
+                    .description("password jobs refused because the queue was full")
+                    .tag("lane", name)
+                    .register(registry);
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<T> work) {
+            long queuedAt = System.nanoTime();
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return workTimer.record(work);
+            }, executor);
+        }
+    }
+
+    public PasswordWorkPool(MeterRegistry registry,
+                            @Value("${password.pool.threads:0}") int threads,
+                            @Value("${password.pool.queue-capacity:100}") int queueCapacity,
+                            @Value("${password.pool.bulk-threads:0}") int bulkThreads,
+                            @Value("${password.pool.bulk-queue-capacity:${users.bulk.batch-size:500}}") int bulkQueueCapacity,
+                            @Value("${password.pool.virtual-threads:${spring.threads.virtual.enabled:false}}") boolean virtualThreads) {
+        // hashing is CPU bound, more threads than cores only adds context switches
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = threads > 0 ? threads : cores;
+        int bulkPoolSize = bulkThreads > 0 ? bulkThreads : Math.max(1, cores / 2);
+
+        interactive = new Lane("interactive", poolSize, queueCapacity, virtualThreads,
+                new ThreadPoolExecutor.AbortPolicy(), registry);
+        bulk = new Lane("bulk", bulkPoolSize, bulkQueueCapacity, virtualThreads, PasswordWorkPool::waitForRoom, registry);
+    }
+
+    // throws RejectedExecutionException right away when the queue is full
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return interactive.submit(work);
+        } catch (RejectedExecutionException e) {
+            interactive.rejected.increment();
+            throw e;
+        }
+    }
+
+    // bulk lane: a full queue blocks the caller instead of rejecting, which throttles reading the upload
+    public <T> CompletableFuture<T> submitBulk(Supplier<T> work) {
+        return bulk.submit(work);
+    }
+
+    private static void waitForRoom(Runnable job, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("password pool is shut down");
+        }
+        try {
+            executor.getQueue().put(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        interactive.executor.shutdown();
+        bulk.executor.shutdown();
+    }
+}
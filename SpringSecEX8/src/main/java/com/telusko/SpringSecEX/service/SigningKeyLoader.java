@@ -0,0 +1,73 @@
+package com.telusko.SpringSecEX.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.List;
+
+// builds SigningKeys from the jwt.signing.* properties, see application.properties
+@Component
+public class SigningKeyLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyLoader.class);
+
+    private final SigningKeys.Algorithm algorithm;
+    private final String secret;
+    private final List<String> previousSecrets;
+    private final String keyStore;
+    private final String keyStorePassword;
+    private final String keyAlias;
+
+    public SigningKeyLoader(@Value("${jwt.signing.algorithm:HS256}") SigningKeys.Algorithm algorithm,
+                            @Value("${jwt.signing.secret:}") String secret,
+                            @Value("${jwt.signing.previous-secrets:}") String previousSecrets,
+                            @Value("${jwt.signing.keystore:}") String keyStore,
+                            @Value("${jwt.signing.keystore-password:}") String keyStorePassword,
+                            @Value("${jwt.signing.key-alias:jwt}") String keyAlias) {
+        this.algorithm = algorithm;
+        this.secret = secret;
+        this.previousSecrets = Arrays.stream(previousSecrets.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+        this.keyStore = keyStore;
+        this.keyStorePassword = keyStorePassword;
+        this.keyAlias = keyAlias;
+    }
+
+    public SigningKeys load() {
+        try {
+            if (algorithm == SigningKeys.Algorithm.HS256 && !secret.isBlank()) {
+                return SigningKeys.hmac(secret, previousSecrets);
+            }
+            if (algorithm != SigningKeys.Algorithm.HS256 && !keyStore.isBlank()) {
+                return SigningKeys.fromKeyStore(algorithm, Path.of(keyStore), keyStorePassword.toCharArray(), keyAlias);
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("could not load JWT signing keys", e);
+        }
+        log.warn("No JWT signing key configured, using a random {} key: tokens won't survive a restart or work on other instances",
+                algorithm);
+        return SigningKeys.generated(algorithm);
+    }
+
+    // null when keys don't come from a file, so there is nothing to watch
+    public FileTime lastModified() {
+        if (algorithm == SigningKeys.Algorithm.HS256 || keyStore.isBlank()) {
+            return null;
+        }
+        try {
+            return Files.getLastModifiedTime(Path.of(keyStore));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
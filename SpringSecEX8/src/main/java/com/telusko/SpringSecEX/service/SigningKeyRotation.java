@@ -0,0 +1,51 @@
+package com.telusko.SpringSecEX.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+// picks up a replaced keystore without a restart: new active alias for signing, removed aliases stop verifying
+@Component
+public class SigningKeyRotation {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRotation.class);
+
+    @Autowired
+    private SigningKeyLoader loader;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    private FileTime loadedVersion;
+
+    @Scheduled(fixedDelayString = "${jwt.signing.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        FileTime current = loader.lastModified();
+        if (current == null || Objects.equals(current, loadedVersion)) {
+            return;
+        }
+        if (loadedVersion == null) {
+            // first run: JWTService loaded this version at startup
+            loadedVersion = current;
+            return;
+        }
+        try {
+            jwtService.setSigningKeys(loader.load());
+            // tokens verified with a key that may just have been removed must be checked again
+            tokenCache.clear();
+            loadedVersion = current;
+            log.info("Reloaded JWT signing keys, active kid {}", jwtService.getSigningKeys().activeKeyId());
+        } catch (IllegalStateException e) {
+            // half-written or broken keystore: keep the current keys and try again next time
+            log.warn("JWT key reload failed, keeping current keys: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.telusko.SpringSecEX.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// one immutable set of JWT keys: the key new tokens are signed with, plus every key (by kid) a token may be verified with
+// a rotation builds a new SigningKeys and swaps it into JWTService, nothing in here changes after construction
+public final class SigningKeys {
+
+    public enum Algorithm { HS256, RS256, EdDSA }
+
+    private final Algorithm algorithm;
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+    private final List<PublicJwk<?>> publicJwks;
+
+    private SigningKeys(Algorithm algorithm, String activeKeyId, Key signingKey, Map<String, Key> verificationKeys, List<PublicJwk<?>> publicJwks) {
+        this.algorithm = algorithm;
+        this.activeKeyId = activeKeyId;
+        this.signingKey = signingKey;
+        this.verificationKeys = Collections.unmodifiableMap(verificationKeys);
+        this.publicJwks = List.copyOf(publicJwks);
+    }
+
+    // shared secret, every instance configured with the same secret accepts the others' tokens
+    // previousSecrets keep verifying tokens signed before a rotation, until they are removed from config
+    public static SigningKeys hmac(String base64Secret, List<String> previousSecrets) {
+        Key active = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        Map<String, Key> keys = new LinkedHashMap<>();
+        keys.put(keyIdOf(active), active);
+        for (String previous : previousSecrets) {
+            Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(previous));
+            keys.putIfAbsent(keyIdOf(key), key);
+        }
+        return new SigningKeys(Algorithm.HS256, keyIdOf(active), active, keys, List.of());
+    }
+
+    // fresh key that only this process knows: tokens die with a restart and other instances reject them
+    public static SigningKeys generated(Algorithm algorithm) {
+        if (algorithm == Algorithm.HS256) {
+            Key key = Jwts.SIG.HS256.key().build();
+            return new SigningKeys(algorithm, keyIdOf(key), key, Map.of(keyIdOf(key), key), List.of());
+        }
+        KeyPair pair = algorithm == Algorithm.RS256
+                ? Jwts.SIG.RS256.keyPair().build()
+                : Jwts.SIG.EdDSA.keyPair().build();
+        String keyId = "generated-" + keyIdOf(pair.getPublic());
+        return new SigningKeys(algorithm, keyId, pair.getPrivate(), Map.of(keyId, pair.getPublic()),
+                List.of(publicJwk(keyId, pair.getPublic())));
+    }
+
+    // every private key entry in the keystore whose type fits the algorithm is published and accepted (kid = alias);
+    // new tokens are signed with activeAlias. Rotating = add the new key, point activeAlias at it, drop the old alias later
+    public static SigningKeys fromKeyStore(Algorithm algorithm, Path path, char[] password, String activeAlias)
+            throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(path)) {
+            keyStore.load(in, password);
+        }
+
+        Map<String, Key> keys = new LinkedHashMap<>();
+        List<PublicJwk<?>> jwks = new ArrayList<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (!keyStore.isKeyEntry(alias) || certificate == null || !fits(algorithm, certificate.getPublicKey())) {
+                continue;
+            }
+            keys.put(alias, certificate.getPublicKey());
+            jwks.add(publicJwk(alias, certificate.getPublicKey()));
+        }
+
+        if (!keys.containsKey(activeAlias) || !(keyStore.getKey(activeAlias, password) instanceof PrivateKey signingKey)) {
+            throw new IllegalStateException("keystore " + path + " has no " + algorithm + " private key under alias '" + activeAlias + "'");
+        }
+        return new SigningKeys(algorithm, activeAlias, signingKey, keys, jwks);
+    }
+
+    private static boolean fits(Algorithm algorithm, PublicKey key) {
+        String type = key.getAlgorithm();
+        return algorithm == Algorithm.RS256
+                ? type.equals("RSA")
+                : type.equals("EdDSA") || type.equals("Ed25519");
+    }
+
+    private static PublicJwk<?> publicJwk(String keyId, PublicKey key) {
+        return Jwks.builder().key(key).id(keyId).publicKeyUse("sig").build();
+    }
+
+    // kid derived from the key itself: start of its SHA-256, reveals nothing usable about a secret key
+    private static String keyIdOf(Key key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Algorithm algorithm() {
+        return algorithm;
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public Key signingKey() {
+        return signingKey;
+    }
+
+    // null for a kid we don't know (or no longer trust)
+    public Key verificationKey(String keyId) {
+        return verificationKeys.get(keyId);
+    }
+
+    // empty for HS256, a shared secret is never published
+    public List<PublicJwk<?>> publicJwks() {
+        return publicJwks;
+    }
+}
@@ -0,0 +1,66 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.Student;
+import com.telusko.SpringSecEX.repo.StudentRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class StudentService {
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${students.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${students.page.max-size:500}")
+    private int maxPageSize;
+
+    // flush every batch-size rows, which is also what Hibernate puts in one JDBC batch
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    // keyset page: students with an id greater than afterId, in id order; the last id of a page gives the next
+    public List<Student> getStudents(int afterId, Integer size) {
+        int limit = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return studentRepo.findByItGreaterThanOrderByItAsc(afterId, Limit.of(limit));
+    }
+
+    public Student getStudent(int id) {
+        return studentRepo.findById(id).orElse(null);
+    }
+
+    public Student addStudent(Student student) {
+        student.setIt(0);
+        return studentRepo.save(student);
+    }
+
+    // all or nothing, same as UserService.saveAll
+    @Transactional
+    public List<Student> addStudents(List<Student> students) {
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            student.setIt(0);
+            entityManager.persist(student);
+            if ((i + 1) % batchSize == 0) {
+                // keeps the persistence context from growing with the request size
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return students;
+    }
+}
@@ -0,0 +1,110 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.RevokedToken;
+import com.telusko.SpringSecEX.model.VerifiedToken;
+import com.telusko.SpringSecEX.repo.RevokedTokenRepo;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// revocation list for JWTFilter: revoked_token in the database is the truth, a Bloom filter in front of it
+// answers the usual "not revoked" with a few memory reads; only a "maybe" (a revoked token, or ~falsePositiveRate
+// of the others) costs a primary key lookup
+// revocations made on other instances show up here at the next reload, so within reload-interval-ms
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private RevokedTokenRepo repo;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+
+    // revoke() and the swap at the end of reload() take this, so a revocation made while the filter is being
+    // rebuilt ends up in the new one too; the read path never touches it (ReentrantLock, not synchronized,
+    // so a virtual thread waiting here doesn't pin its carrier)
+    private final ReentrantLock swapLock = new ReentrantLock();
+    private final List<String> revokedDuringReload = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.id() == null) {
+            // issued before tokens had a jti, can't have been revoked
+            return false;
+        }
+        if (!filter.get().mightContain(token.id())) {
+            return false;
+        }
+        return repo.existsById(token.id());
+    }
+
+    // true if this call revoked the token, false if it already was (or can't be revoked)
+    public boolean revoke(VerifiedToken token) {
+        if (token.id() == null || token.isExpired()) {
+            return false;
+        }
+        try {
+            repo.saveAndFlush(new RevokedToken(token.id(), token.expiration(), Instant.now()));
+        } catch (DataIntegrityViolationException e) {
+            // someone revoked it first
+            return false;
+        }
+        swapLock.lock();
+        try {
+            filter.get().put(token.id());
+            revokedDuringReload.add(token.id());
+        } finally {
+            swapLock.unlock();
+        }
+        return true;
+    }
+
+    // rebuilt from scratch rather than updated: picks up other instances' revocations and drops expired ones,
+    // which a Bloom filter can't delete
+    @Scheduled(fixedDelayString = "${jwt.revocation.reload-interval-ms:30000}", initialDelayString = "${jwt.revocation.reload-interval-ms:30000}")
+    public void reload() {
+        swapLock.lock();
+        try {
+            revokedDuringReload.clear();
+        } finally {
+            swapLock.unlock();
+        }
+
+        List<String> ids = repo.findActiveIds(Instant.now());
+        // sized for at least twice the current list, so the false positive rate holds while it grows until the next reload
+        BloomFilter fresh = new BloomFilter(Math.max(expectedEntries, ids.size() * 2), falsePositiveRate);
+        ids.forEach(fresh::put);
+
+        swapLock.lock();
+        try {
+            revokedDuringReload.forEach(fresh::put);
+            revokedDuringReload.clear();
+            filter.set(fresh);
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        repo.deleteExpired(Instant.now());
+    }
+}
@@ -1,15 +1,27 @@
 package com.telusko.SpringSecEX.service;
 
+import com.telusko.SpringSecEX.model.TokenResponse;
 import com.telusko.SpringSecEX.model.Users;
+import com.telusko.SpringSecEX.model.VerifiedToken;
 import com.telusko.SpringSecEX.repo.UserRepo;
+import io.jsonwebtoken.JwtException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Collection;
+import java.util.List;
+
 @Service
 public class UserService {
 
@@ -22,21 +34,90 @@ public class UserService {
     @Autowired
     AuthenticationManager authenticationManager;
 
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private CachedUserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public Users register (@RequestBody Users user)
     {
+        hashPassword(user);
+        return save(user);
+    }
 
+    // register() is hash + save, /register/bulk runs the two steps separately so they can overlap
+    public void hashPassword(Users user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepo.save(user);
     }
 
-    public String verify(Users user) {
+    public Users save(Users user) {
+        // always a new row, the id comes from users_seq and never from the client
+        user.setId(0);
+        Users saved = userRepo.save(user);
+        // a re-registered user must not keep authenticating with the old cached password/authorities
+        userDetailsService.evict(saved.getUsername());
+        return saved;
+    }
+
+    // users must already be hashed; all or nothing, the INSERTs go out as JDBC batches
+    @Transactional
+    public void saveAll(List<Users> users) {
+        // persist instead of userRepo.saveAll, which would merge (select + insert) every row that has an id
+        for (Users user : users) {
+            user.setId(0);
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        users.forEach(user -> userDetailsService.evict(user.getUsername()));
+    }
+
+    public TokenResponse verify(Users user) {
         Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
-        if (authentication.isAuthenticated()) {
-            return jwtService.generateToken(user.getUsername());
-        } else {
-            return "Invalid user credentials";
+        if (!authentication.isAuthenticated()) {
+            throw new BadCredentialsException("Invalid user credentials");
+        }
+        return issueTokens(user.getUsername(), authentication.getAuthorities());
+    }
+
+    // new token pair for a valid refresh token, no BCrypt involved; the old refresh token is revoked, so each one works once
+    public TokenResponse refresh(String refreshToken) {
+        VerifiedToken token = jwtService.verify(refreshToken); // JwtException if bad or expired
+        if (!token.refresh() || revocationService.isRevoked(token)) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        // reloaded so a deleted user can't refresh and changed authorities land in the new access token
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.subject());
+        if (!revocationService.revoke(token)) {
+            // a concurrent /refresh with the same token won
+            throw new BadCredentialsException("Invalid refresh token");
         }
+        return issueTokens(userDetails.getUsername(), userDetails.getAuthorities());
+    }
+
+    // revokes the given tokens (access and/or refresh), anything that doesn't verify is ignored
+    public void revoke(String... tokens) {
+        for (String token : tokens) {
+            if (token == null) {
+                continue;
+            }
+            try {
+                revocationService.revoke(jwtService.verify(token));
+            } catch (JwtException | IllegalArgumentException e) {
+                // already unusable
+            }
+        }
+    }
+
+    private TokenResponse issueTokens(String username, Collection<? extends GrantedAuthority> authorities) {
+        return new TokenResponse(jwtService.generateToken(username, authorities), jwtService.generateRefreshToken(username),
+                "Bearer", JWTService.ACCESS_TOKEN_VALIDITY.toSeconds());
     }
 }
@@ -0,0 +1,47 @@
+package com.telusko.SpringSecEX.config;
+
+import com.telusko.SpringSecEX.service.JWTService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class JWTFilterTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // every request with a token ends up under exactly one outcome, also when it was authenticated before the filter
+    @Test
+    void anAlreadyAuthenticatedRequestIsCounted() throws Exception {
+        MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        double before = requests();
+
+        mvc.perform(get("/students")
+                        .with(user("already-authenticated"))
+                        .header("Authorization", "Bearer " + jwtService.generateToken("already-authenticated")))
+                .andExpect(status().isOk());
+
+        assertThat(requests() - before).isEqualTo(1);
+    }
+
+    private double requests() {
+        return registry.get("jwt.filter.requests").tag("outcome", "already_authenticated").counter().count();
+    }
+}
@@ -0,0 +1,33 @@
+package com.telusko.SpringSecEX.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// TokenRevocationService relies on both properties: never a false "not revoked", and few enough false "maybe"s
+class BloomFilterTest {
+
+    @Test
+    void noFalseNegativesAndFalsePositivesNearTheTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            revoked.add(UUID.randomUUID().toString());
+            filter.put(revoked.get(i));
+        }
+
+        assertThat(revoked).allMatch(filter::mightContain);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+}
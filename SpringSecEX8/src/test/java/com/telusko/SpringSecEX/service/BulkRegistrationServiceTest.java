@@ -0,0 +1,86 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.BulkRegistrationResult;
+import com.telusko.SpringSecEX.model.Users;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// batches of 3, so the taken username fails the second batch and only that one is redone row by row
+@SpringBootTest(properties = "users.bulk.batch-size=3")
+class BulkRegistrationServiceTest {
+
+    @Autowired
+    private BulkRegistrationService bulkRegistrationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void aBadRowOnlyFailsItself() throws Exception {
+        Users existing = new Users();
+        existing.setUsername("bulk-taken");
+        existing.setPassword("secret");
+        userService.register(existing);
+
+        String ndjson = """
+                {"username":"bulk-1","password":"p"}
+                {"username":"bulk-2","password":"p"}
+                {"username":"bulk-3","password":"p"}
+                {"username":"bulk-4","password":"p"}
+                {"username":"bulk-taken","password":"p"}
+                not json
+
+                {"username":"bulk-5"}
+                {"username":"bulk-6","password":"p"}
+                """;
+        List<BulkRegistrationResult> results = new ArrayList<>();
+        bulkRegistrationService.registerAll(new BufferedReader(new StringReader(ndjson)), results::add);
+
+        // blank line 7 is skipped, every other line gets exactly one result in order
+        assertThat(results).extracting(BulkRegistrationResult::line).containsExactly(1, 2, 3, 4, 5, 6, 8, 9);
+        assertThat(results).filteredOn(r -> r.status().equals("CREATED"))
+                .extracting(BulkRegistrationResult::username)
+                .containsExactly("bulk-1", "bulk-2", "bulk-3", "bulk-4", "bulk-6");
+        assertThat(results).filteredOn(r -> r.status().equals("FAILED"))
+                .extracting(BulkRegistrationResult::line)
+                .containsExactly(5, 6, 8);
+
+        // hashed on the bulk lane before the insert, so the new users can log in
+        Users login = new Users();
+        login.setUsername("bulk-4");
+        login.setPassword("p");
+        assertThat(userService.verify(login).accessToken()).isNotBlank();
+    }
+
+    @Test
+    void aRowThatFailsToHashOnlyFailsItself() throws Exception {
+        // BCrypt refuses passwords longer than 72 bytes
+        String ndjson = """
+                {"username":"hash-1","password":"p"}
+                {"username":"hash-too-long","password":"%s"}
+                {"username":"hash-2","password":"p"}
+                {"username":"hash-3","password":"p"}
+                """.formatted("x".repeat(100));
+        List<BulkRegistrationResult> results = new ArrayList<>();
+        bulkRegistrationService.registerAll(new BufferedReader(new StringReader(ndjson)), results::add);
+
+        assertThat(results).extracting(BulkRegistrationResult::line).containsExactly(1, 2, 3, 4);
+        assertThat(results).filteredOn(r -> r.status().equals("FAILED"))
+                .singleElement()
+                .satisfies(r -> {
+                    assertThat(r.username()).isEqualTo("hash-too-long");
+                    assertThat(r.error()).startsWith("password could not be hashed");
+                });
+        assertThat(results).filteredOn(r -> r.status().equals("CREATED"))
+                .extracting(BulkRegistrationResult::username)
+                .containsExactly("hash-1", "hash-2", "hash-3");
+    }
+}
@@ -0,0 +1,74 @@
+package com.telusko.SpringSecEX.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedUserDetailsServiceTest {
+
+    // stands in for the database, records every lookup
+    static class CountingUserDetailsService extends MyUserDetailsService {
+        final List<String> loads = new ArrayList<>();
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            loads.add(username);
+            return User.withUsername(username).password("x").authorities("USER").build();
+        }
+    }
+
+    @Test
+    void liveEntriesAreServedFromMemory() {
+        CountingUserDetailsService database = new CountingUserDetailsService();
+        CachedUserDetailsService cache = new CachedUserDetailsService(database, 60, 100);
+
+        cache.loadUserByUsername("alice");
+        cache.loadUserByUsername("alice");
+
+        assertThat(database.loads).containsExactly("alice");
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        CountingUserDetailsService database = new CountingUserDetailsService();
+        CachedUserDetailsService cache = new CachedUserDetailsService(database, 0, 100);
+
+        cache.loadUserByUsername("alice");
+        cache.loadUserByUsername("alice");
+
+        assertThat(database.loads).containsExactly("alice", "alice");
+    }
+
+    @Test
+    void maxSizeIsABoundEvenWhenNothingHasExpired() {
+        CountingUserDetailsService database = new CountingUserDetailsService();
+        CachedUserDetailsService cache = new CachedUserDetailsService(database, 60, 100);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.loadUserByUsername("user-" + i);
+        }
+        assertThat(cache.size()).isEqualTo(100);
+
+        // oldest out first: user-0 went long ago, user-999 is still there
+        cache.loadUserByUsername("user-999");
+        cache.loadUserByUsername("user-0");
+        assertThat(database.loads).hasSize(1001).endsWith("user-0");
+    }
+
+    @Test
+    void evictForcesAReload() {
+        CountingUserDetailsService database = new CountingUserDetailsService();
+        CachedUserDetailsService cache = new CachedUserDetailsService(database, 60, 100);
+
+        cache.loadUserByUsername("alice");
+        cache.evict("alice");
+        cache.loadUserByUsername("alice");
+
+        assertThat(database.loads).containsExactly("alice", "alice");
+    }
+}
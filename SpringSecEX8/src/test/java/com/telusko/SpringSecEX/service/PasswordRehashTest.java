@@ -0,0 +1,56 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.Users;
+import com.telusko.SpringSecEX.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the app runs at cost 5 here, stored hashes at 4 and 6 stand for other instances of a fleet
+@SpringBootTest(properties = "security.bcrypt.strength=5")
+class PasswordRehashTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void loginRaisesACheaperHash() {
+        save("rehash-up", new BCryptPasswordEncoder(4).encode("secret"));
+
+        userService.verify(credentials("rehash-up"));
+
+        assertThat(userRepo.findByUsername("rehash-up").getPassword()).startsWith("$2a$05$");
+        // and the new hash still logs in
+        assertThat(userService.verify(credentials("rehash-up")).accessToken()).isNotBlank();
+    }
+
+    @Test
+    void loginNeverLowersAStrongerHash() {
+        String stored = new BCryptPasswordEncoder(6).encode("secret");
+        save("rehash-down", stored);
+
+        userService.verify(credentials("rehash-down"));
+
+        assertThat(userRepo.findByUsername("rehash-down").getPassword()).isEqualTo(stored);
+    }
+
+    private void save(String username, String hash) {
+        Users user = new Users();
+        user.setUsername(username);
+        user.setPassword(hash);
+        userRepo.save(user);
+    }
+
+    private static Users credentials(String username) {
+        Users user = new Users();
+        user.setUsername(username);
+        user.setPassword("secret");
+        return user;
+    }
+}
@@ -0,0 +1,96 @@
+package com.telusko.SpringSecEX.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class SigningKeysTest {
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Test
+    void tokensCarryTheActiveKid() {
+        SigningKeys keys = SigningKeys.hmac(secret(), List.of());
+        String token = new JWTService(keys).generateToken("alice");
+
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+        assertThat(header).contains("\"kid\":\"" + keys.activeKeyId() + "\"");
+    }
+
+    @Test
+    void previousSecretsVerifyUntilTheyAreDropped() {
+        String oldSecret = secret();
+        String newSecret = secret();
+        String oldToken = new JWTService(SigningKeys.hmac(oldSecret, List.of())).generateToken("alice");
+
+        JWTService rotated = new JWTService(SigningKeys.hmac(newSecret, List.of(oldSecret)));
+        assertThat(rotated.verify(oldToken).subject()).isEqualTo("alice");
+        assertThat(rotated.verify(rotated.generateToken("bob")).subject()).isEqualTo("bob");
+
+        JWTService dropped = new JWTService(SigningKeys.hmac(newSecret, List.of()));
+        assertThatThrownBy(() -> dropped.verify(oldToken)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void onlyPublicKeysArePublished() {
+        assertThat(SigningKeys.generated(SigningKeys.Algorithm.HS256).publicJwks()).isEmpty();
+
+        for (SigningKeys.Algorithm algorithm : List.of(SigningKeys.Algorithm.RS256, SigningKeys.Algorithm.EdDSA)) {
+            SigningKeys keys = SigningKeys.generated(algorithm);
+            assertThat(keys.publicJwks()).hasSize(1);
+            PublicJwk<?> jwk = keys.publicJwks().get(0);
+            assertThat(jwk.getId()).isEqualTo(keys.activeKeyId());
+            assertThat(jwk.containsKey("d")).as("private part of %s", algorithm).isFalse();
+        }
+    }
+
+    @Test
+    void jwksEndpointServesTheActiveKeys() throws Exception {
+        MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        SigningKeys original = jwtService.getSigningKeys();
+        try {
+            jwtService.setSigningKeys(SigningKeys.generated(SigningKeys.Algorithm.HS256));
+            mvc.perform(get("/.well-known/jwks.json"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.keys").isEmpty());
+
+            SigningKeys rsa = SigningKeys.generated(SigningKeys.Algorithm.RS256);
+            jwtService.setSigningKeys(rsa);
+            mvc.perform(get("/.well-known/jwks.json"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.keys[0].kid").value(rsa.activeKeyId()))
+                    .andExpect(jsonPath("$.keys[0].kty").value("RSA"))
+                    .andExpect(jsonPath("$.keys[0].n").exists())
+                    .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+        } finally {
+            jwtService.setSigningKeys(original);
+        }
+    }
+
+    private static String secret() {
+        return Encoders.BASE64.encode(Jwts.SIG.HS256.key().build().getEncoded());
+    }
+}
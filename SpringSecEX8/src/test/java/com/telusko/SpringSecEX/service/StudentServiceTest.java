@@ -0,0 +1,42 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs on the H2 database from src/test/resources/application.properties
+@SpringBootTest
+class StudentServiceTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void bulkAddIsReadBackPageByPage() {
+        // more rows than one JDBC batch, ids sent by the client are ignored
+        List<Student> students = IntStream.range(0, 1234)
+                .mapToObj(i -> new Student(99, "student-" + i, i % 100))
+                .toList();
+        studentService.addStudents(new ArrayList<>(students));
+
+        List<Student> read = new ArrayList<>();
+        int afterId = 0;
+        List<Student> page;
+        while (!(page = studentService.getStudents(afterId, 500)).isEmpty()) {
+            read.addAll(page);
+            afterId = page.get(page.size() - 1).getIt();
+        }
+
+        assertThat(read).extracting(Student::getName)
+                .containsAll(students.stream().map(Student::getName).toList());
+        assertThat(read).extracting(Student::getIt).doesNotHaveDuplicates().isSorted();
+        assertThat(studentService.getStudent(read.get(0).getIt())).isNotNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.TokenResponse;
+import com.telusko.SpringSecEX.model.Users;
+import com.telusko.SpringSecEX.model.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class TokenRevocationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Test
+    void aRefreshTokenWorksOnce() {
+        TokenResponse login = login("refresh-once");
+
+        assertThat(userService.refresh(login.refreshToken()).accessToken()).isNotBlank();
+        assertThatThrownBy(() -> userService.refresh(login.refreshToken())).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void concurrentRefreshesWithOneTokenHaveOneWinner() {
+        TokenResponse login = login("refresh-race");
+
+        List<CompletableFuture<Boolean>> attempts = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        userService.refresh(login.refreshToken());
+                        return true;
+                    } catch (BadCredentialsException e) {
+                        return false;
+                    }
+                }))
+                .toList();
+
+        assertThat(attempts).filteredOn(CompletableFuture::join).hasSize(1);
+    }
+
+    @Test
+    void aRevokedAccessTokenGets401() throws Exception {
+        MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        String bearer = "Bearer " + login("revoked-access").accessToken();
+
+        mvc.perform(get("/students").header("Authorization", bearer)).andExpect(status().isOk());
+        mvc.perform(post("/revoke").header("Authorization", bearer)).andExpect(status().isNoContent());
+        // the filter already has this token in its verified-token cache, revocation is still checked
+        mvc.perform(get("/students").header("Authorization", bearer)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revokeWithoutABearerTokenIsABadRequest() throws Exception {
+        MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        login("revoke-basic");
+
+        mvc.perform(post("/revoke").with(httpBasic("revoke-basic", "secret"))).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void revocationsDuringAFilterRebuildAreNotLost() throws Exception {
+        AtomicBoolean revoking = new AtomicBoolean(true);
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            while (revoking.get()) {
+                revocationService.reload();
+            }
+        });
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                VerifiedToken token = new VerifiedToken("rebuild-race", UUID.randomUUID().toString(),
+                        Instant.now().plusSeconds(600), List.of(), false, null);
+                assertThat(revocationService.revoke(token)).isTrue();
+                assertThat(revocationService.isRevoked(token)).as("token %d", i).isTrue();
+            }
+        } finally {
+            revoking.set(false);
+            rebuilds.get();
+        }
+    }
+
+    private TokenResponse login(String username) {
+        Users user = new Users();
+        user.setUsername(username);
+        user.setPassword("secret");
+        userService.register(user);
+
+        Users credentials = new Users();
+        credentials.setUsername(username);
+        credentials.setPassword("secret");
+        return userService.verify(credentials);
+    }
+}
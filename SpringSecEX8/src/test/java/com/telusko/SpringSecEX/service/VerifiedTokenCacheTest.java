@@ -0,0 +1,57 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.VerifiedToken;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedTokenCacheTest {
+
+    private final JWTService jwtService = new JWTService();
+
+    @Test
+    void repeatedTokensAreHits() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        String token = jwtService.generateToken("alice");
+
+        assertThat(cache.get(token)).isNull();
+        cache.put(token, jwtService.verify(token), cache.epoch());
+
+        assertThat(cache.get(token).subject()).isEqualTo("alice");
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void aVerificationThatRacedARotationIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        String token = jwtService.generateToken("alice");
+
+        // JWTFilter: epoch read, token verified with the old key ...
+        long epoch = cache.epoch();
+        VerifiedToken verified = jwtService.verify(token);
+        // ... SigningKeyRotation swaps the keys and flushes ...
+        jwtService.setSigningKeys(SigningKeys.generated(SigningKeys.Algorithm.HS256));
+        cache.clear();
+        // ... and only then does the filter get to put()
+        cache.put(token, verified, epoch);
+
+        assertThat(cache.get(token)).isNull();
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void oldestTokensAreEvictedAtMaxSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        String first = jwtService.generateToken("first");
+        for (String token : new String[]{first, jwtService.generateToken("second"), jwtService.generateToken("third")}) {
+            cache.put(token, jwtService.verify(token), cache.epoch());
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictions()).isEqualTo(1);
+        assertThat(cache.get(first)).isNull();
+    }
+}
@@ -0,0 +1,13 @@
+package com.telusko.SpringSecEX;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class SpringSecExApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(SpringSecExApplication.class, args);
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.telusko.SpringSecEX.config;
+
+// how JWTAuthenticationManager turns a verified token into an Authentication, set with jwt.auth-mode
+public enum AuthMode {
+    // load the user through ReactiveUserDetailsService on every request (default)
+    DATABASE,
+    // build the Authentication from the token's subject and roles claim only
+    CLAIMS
+}
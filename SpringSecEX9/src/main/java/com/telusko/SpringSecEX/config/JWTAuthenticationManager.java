@@ -0,0 +1,73 @@
+package com.telusko.SpringSecEX.config;
+
+import com.telusko.SpringSecEX.model.BearerToken;
+import com.telusko.SpringSecEX.model.VerifiedToken;
+import com.telusko.SpringSecEX.service.JWTService;
+import com.telusko.SpringSecEX.service.MyUserDetailsService;
+import com.telusko.SpringSecEX.service.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// reactive half of SpringSecEX8's JWTFilter: BearerToken in, authenticated token out, empty if the token is no good
+// not a bean on purpose, otherwise Spring Security would also use it for httpBasic and /login
+public class JWTAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JWTService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final MyUserDetailsService userDetailsService;
+    private final AuthMode authMode;
+
+    public JWTAuthenticationManager(JWTService jwtService, VerifiedTokenCache tokenCache,
+                                    MyUserDetailsService userDetailsService, AuthMode authMode) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.userDetailsService = userDetailsService;
+        this.authMode = authMode;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = ((BearerToken) authentication).getToken();
+        VerifiedToken verifiedToken;
+        try {
+            // HMAC check + decode is a few microseconds of CPU, fine to do on the event loop
+            long cacheEpoch = tokenCache.epoch();
+            verifiedToken = tokenCache.get(token);
+            if (verifiedToken == null) {
+                verifiedToken = jwtService.verify(token);
+                tokenCache.put(token, verifiedToken, cacheEpoch);
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // bad signature, malformed or expired token -> leave the request unauthenticated
+            return Mono.empty();
+        }
+
+        return authMode == AuthMode.CLAIMS && verifiedToken.authorities() != null
+                ? authenticateFromClaims(verifiedToken)
+                : authenticateFromDatabase(verifiedToken);
+    }
+
+    // default: reload the user so deleted users and changed authorities take effect before the token expires
+    private Mono<Authentication> authenticateFromDatabase(VerifiedToken verifiedToken) {
+        return userDetailsService.findByUsername(verifiedToken.subject())
+                .filter(userDetails -> jwtService.validateToken(verifiedToken, userDetails))
+                .map(userDetails -> UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    // stateless: trust the signed roles claim, the user is only re-read when a new token is issued at /login
+    private Mono<Authentication> authenticateFromClaims(VerifiedToken verifiedToken) {
+        if (verifiedToken.isExpired()) {
+            return Mono.empty();
+        }
+        List<SimpleGrantedAuthority> authorities = verifiedToken.authorities().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        return Mono.just(UsernamePasswordAuthenticationToken.authenticated(verifiedToken.subject(), null, authorities));
+    }
+}
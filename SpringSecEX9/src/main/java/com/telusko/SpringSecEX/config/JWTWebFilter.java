@@ -0,0 +1,36 @@
+package com.telusko.SpringSecEX.config;
+
+import com.telusko.SpringSecEX.model.BearerToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+// WebFlux version of JWTFilter; created in SecurityConfig rather than as a @Component,
+// a WebFilter bean would also be added to the global filter chain and run twice
+public class JWTWebFilter implements WebFilter {
+
+    private final JWTAuthenticationManager authenticationManager;
+
+    public JWTWebFilter(JWTAuthenticationManager authenticationManager) {
+        this.authenticationManager = authenticationManager;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        // the authentication travels in the Reactor context instead of a ThreadLocal,
+        // so it follows the request across whichever threads the rest of the chain runs on
+        return authenticationManager.authenticate(new BearerToken(authHeader.substring(7)))
+                .map(ReactiveSecurityContextHolder::withAuthentication)
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+}
@@ -0,0 +1,67 @@
+package com.telusko.SpringSecEX.config;
+
+import com.telusko.SpringSecEX.service.JWTService;
+import com.telusko.SpringSecEX.service.MyUserDetailsService;
+import com.telusko.SpringSecEX.service.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+// reactive counterpart of SpringSecEX8's SecurityConfig: same rules, WebFilters instead of servlet filters
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Value("${jwt.auth-mode:database}")
+    private AuthMode authMode;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        JWTAuthenticationManager jwtAuthenticationManager = new JWTAuthenticationManager(jwtService, tokenCache, userDetailsService, authMode);
+        return http
+                .csrf(customizer -> customizer.disable())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/login", "/register").permitAll()
+                        .anyExchange().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                // stateless: nothing is stored between requests, like SessionCreationPolicy.STATELESS
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .addFilterAt(new JWTWebFilter(jwtAuthenticationManager), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:12}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // username/password manager for /login and httpBasic; checks the BCrypt hash on boundedElastic
+    @Bean
+    @Primary
+    public ReactiveAuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        manager.setPasswordEncoder(passwordEncoder);
+        return manager;
+    }
+}
@@ -0,0 +1,43 @@
+package com.telusko.SpringSecEX.controller;
+
+import com.telusko.SpringSecEX.model.Student;
+import com.telusko.SpringSecEX.service.StudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+public class StudentController
+{
+    @Autowired
+    private StudentService studentService;
+
+    @GetMapping("/students")
+    public Flux<Student> getStudents(@RequestParam(defaultValue = "0") int afterId,
+                                     @RequestParam(required = false) Integer size)
+    {
+        return studentService.getStudents(afterId, size);
+    }
+
+    @GetMapping("/students/{id}")
+    public Mono<ResponseEntity<Student>> getStudent(@PathVariable int id)
+    {
+        return studentService.getStudent(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/students")
+    public Mono<Student> addStudent(@RequestBody Student student)
+    {
+        return studentService.addStudent(student);
+    }
+
+}
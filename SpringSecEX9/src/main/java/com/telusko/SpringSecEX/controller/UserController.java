@@ -0,0 +1,35 @@
+package com.telusko.SpringSecEX.controller;
+
+import com.telusko.SpringSecEX.model.Users;
+import com.telusko.SpringSecEX.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+public class UserController {
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping("/register")
+    public Mono<Users> register(@RequestBody Users user)
+    {
+        return userService.register(user)
+                // uk_users_username
+                .onErrorMap(DataIntegrityViolationException.class, e -> new ResponseStatusException(HttpStatus.CONFLICT, "Username already taken"));
+    }
+
+    @PostMapping("/login")
+    public Mono<String> login(@RequestBody Users user)
+    {
+        return userService.verify(user)
+                .onErrorMap(AuthenticationException.class, e -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid user credentials"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.telusko.SpringSecEX.model;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+// unauthenticated request for JWTAuthenticationManager: just the raw token from the Authorization header
+public class BearerToken extends AbstractAuthenticationToken {
+
+    private final String token;
+
+    public BearerToken(String token) {
+        super(AuthorityUtils.NO_AUTHORITIES);
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return token;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return token;
+    }
+}
@@ -0,0 +1,5 @@
+package com.telusko.SpringSecEX.model;
+
+// just the columns authentication needs, loaded by UserRepo.findCredentialsByUsername
+public record UserCredentials(String username, String password) {
+}
@@ -0,0 +1,68 @@
+package com.telusko.SpringSecEX.model;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class UserPrinciple implements UserDetails {
+
+    // every user has the same single authority, no need to build a new one per request
+    private static final Collection<? extends GrantedAuthority> AUTHORITIES =
+            Collections.singleton(new SimpleGrantedAuthority("USER"));
+
+    private final String username;
+    private final String password;
+
+    public UserPrinciple(Users user) {
+        this(user.getUsername(), user.getPassword());
+    }
+
+    public UserPrinciple(UserCredentials credentials) {
+        this(credentials.username(), credentials.password());
+    }
+
+    public UserPrinciple(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public @Nullable String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.telusko.SpringSecEX.model;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+// result of checking a token once: signature is already verified, so callers just read the fields
+// authorities is null when the token carries no roles claim
+public record VerifiedToken(String subject, Instant expiration, List<String> authorities, Claims claims) {
+
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+}
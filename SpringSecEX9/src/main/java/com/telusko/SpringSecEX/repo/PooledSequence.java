@@ -0,0 +1,57 @@
+package com.telusko.SpringSecEX.repo;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+// hands out ids the way Hibernate's pooled optimizer does in SpringSecEX8: each nextval is the top of a block of
+// BLOCK_SIZE ids that belongs to whoever fetched it, so one sequence round trip per BLOCK_SIZE inserts and no
+// collisions with the JPA app sharing the database
+public class PooledSequence {
+
+    // INCREMENT BY in schema.sql, allocationSize in SpringSecEX8
+    public static final int BLOCK_SIZE = 50;
+
+    private final Supplier<Mono<Integer>> nextval;
+
+    // guarded by this; the lock is only held to hand out a number, never across the database call
+    private int next = 1;
+    private int hi = 0;
+    private Mono<Void> refill;
+
+    public PooledSequence(Supplier<Mono<Integer>> nextval) {
+        this.nextval = nextval;
+    }
+
+    public Mono<Integer> nextId() {
+        return Mono.defer(() -> {
+            Mono<Void> pending;
+            synchronized (this) {
+                if (next <= hi) {
+                    return Mono.just(next++);
+                }
+                // everyone who finds the block used up waits on the same nextval, then tries again
+                if (refill == null) {
+                    refill = nextval.get()
+                            .doOnNext(this::install)
+                            .doOnError(e -> clearRefill())
+                            .then()
+                            .cache();
+                }
+                pending = refill;
+            }
+            return pending.then(nextId());
+        });
+    }
+
+    private synchronized void install(int top) {
+        // same rule as Hibernate: the very first value of a fresh sequence is a block of its own
+        next = top < BLOCK_SIZE ? top : top - BLOCK_SIZE + 1;
+        hi = top;
+        refill = null;
+    }
+
+    private synchronized void clearRefill() {
+        refill = null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.telusko.SpringSecEX.repo;
+
+import com.telusko.SpringSecEX.model.Student;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface StudentRepo extends ReactiveCrudRepository<Student, Integer> {
+
+    // keyset page, same query SpringSecEX8's StudentRepo derives
+    @Query("select * from student where id > :afterId order by id limit :size")
+    Flux<Student> findPage(int afterId, int size);
+
+    @Query("select nextval('student_seq')")
+    Mono<Integer> nextIdBlock();
+
+}
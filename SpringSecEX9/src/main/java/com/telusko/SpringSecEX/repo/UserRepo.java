@@ -0,0 +1,19 @@
+package com.telusko.SpringSecEX.repo;
+
+import com.telusko.SpringSecEX.model.UserCredentials;
+import com.telusko.SpringSecEX.model.Users;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface UserRepo extends ReactiveCrudRepository<Users, Integer> {
+
+    // login/JWT path: only username + hash, served by the uk_users_username index
+    @Query("select username, password from users where username = :username")
+    Mono<UserCredentials> findCredentialsByUsername(String username);
+
+    // top of the next block of users_seq ids, handed out one by one through PooledSequence
+    @Query("select nextval('users_seq')")
+    Mono<Integer> nextIdBlock();
+
+}
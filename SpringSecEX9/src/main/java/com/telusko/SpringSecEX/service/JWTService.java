@@ -0,0 +1,109 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class JWTService {
+
+    private static final Logger log = LoggerFactory.getLogger(JWTService.class);
+
+    // authorities are embedded under this claim so JWTFilter can run in claims-only mode
+    public static final String AUTHORITIES_CLAIM = "roles";
+
+    public static final Duration TOKEN_VALIDITY = Duration.ofHours(1);
+
+    // key and parser are immutable and thread safe, so build them once and share them across requests
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    // same jwt.signing.secret as SpringSecEX8, so either app accepts the other's tokens
+    public JWTService(@Value("${jwt.signing.secret:}") String secret) {
+        if (secret.isBlank()) {
+            log.warn("No jwt.signing.secret configured, using a random key: tokens won't survive a restart or work on other instances");
+            key = Jwts.SIG.HS256.key().build();
+        } else {
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
+
+    public String generateToken(String username) {
+        return generateToken(username, List.of());
+    }
+
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities) {
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims()
+                .add(claims)
+                .subject(username)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + TOKEN_VALIDITY.toMillis()))
+                .and()
+                .signWith(key)
+                .compact();
+    }
+
+
+    public String extractUserName(String token) {
+        //extract the username from the token using the secret key
+        return extractAllClaims(token).getSubject();
+    }
+
+    private Claims extractAllClaims(String token) {
+        return parser
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    // verifies the signature and decodes the payload exactly once, throws JwtException if the token is bad or expired
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant(), extractAuthorities(claims), claims);
+    }
+
+    // null when the token was issued without the claim, e.g. before it existed
+    private List<String> extractAuthorities(Claims claims) {
+        if (!(claims.get(AUTHORITIES_CLAIM) instanceof List<?> roles)) {
+            return null;
+        }
+        return roles.stream()
+                .map(String::valueOf)
+                .toList();
+    }
+
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(verify(token), userDetails);
+    }
+
+    public boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return (verifiedToken.subject().equals(userDetails.getUsername()) && !verifiedToken.isExpired());
+    }
+}
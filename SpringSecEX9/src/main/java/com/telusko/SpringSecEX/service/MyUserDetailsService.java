@@ -0,0 +1,24 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.UserPrinciple;
+import com.telusko.SpringSecEX.repo.UserRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// reactive MyUserDetailsService: same projection query, but the event loop is never blocked waiting for Postgres
+@Service
+public class MyUserDetailsService implements ReactiveUserDetailsService {
+
+    @Autowired
+    private UserRepo repo;
+
+    // empty when the user doesn't exist, the authentication managers turn that into a failed login
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return repo.findCredentialsByUsername(username)
+                .<UserDetails>map(UserPrinciple::new);
+    }
+}
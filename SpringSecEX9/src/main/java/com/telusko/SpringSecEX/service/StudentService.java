@@ -0,0 +1,52 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.Student;
+import com.telusko.SpringSecEX.repo.PooledSequence;
+import com.telusko.SpringSecEX.repo.StudentRepo;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class StudentService {
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Value("${students.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${students.page.max-size:500}")
+    private int maxPageSize;
+
+    private PooledSequence studentIds;
+
+    @PostConstruct
+    void init() {
+        studentIds = new PooledSequence(studentRepo::nextIdBlock);
+    }
+
+    public Flux<Student> getStudents(int afterId, Integer size) {
+        int limit = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return studentRepo.findPage(afterId, limit);
+    }
+
+    public Mono<Student> getStudent(int id) {
+        return studentRepo.findById(id);
+    }
+
+    public Mono<Student> addStudent(Student student) {
+        return studentIds.nextId()
+                .flatMap(id -> {
+                    student.setIt(id);
+                    return template.insert(student);
+                });
+    }
+}
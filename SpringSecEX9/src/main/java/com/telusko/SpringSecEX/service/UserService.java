@@ -0,0 +1,59 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.Users;
+import com.telusko.SpringSecEX.repo.PooledSequence;
+import com.telusko.SpringSecEX.repo.UserRepo;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+public class UserService {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private PooledSequence userIds;
+
+    @PostConstruct
+    void init() {
+        userIds = new PooledSequence(userRepo::nextIdBlock);
+    }
+
+    public Mono<Users> register(Users user) {
+        // BCrypt takes ~100s of ms of CPU, run it on boundedElastic so the event loop keeps serving other requests
+        return Mono.fromCallable(() -> passwordEncoder.encode(user.getPassword()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .zipWith(userIds.nextId())
+                .flatMap(hashAndId -> {
+                    user.setPassword(hashAndId.getT1());
+                    user.setId(hashAndId.getT2());
+                    // insert, not save: save() would try an UPDATE because the id is already set
+                    return template.insert(user);
+                });
+    }
+
+    // the password check already runs on boundedElastic inside UserDetailsRepositoryReactiveAuthenticationManager
+    public Mono<String> verify(Users user) {
+        return authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(user.getUsername(), user.getPassword()))
+                .map(authentication -> jwtService.generateToken(user.getUsername(), authentication.getAuthorities()));
+    }
+}
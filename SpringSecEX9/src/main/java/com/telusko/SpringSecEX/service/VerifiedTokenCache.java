@@ -0,0 +1,132 @@
+package com.telusko.SpringSecEX.service;
+
+import com.telusko.SpringSecEX.model.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// tokens that already passed signature verification, so a client reusing its token skips the HMAC check
+// entries die at the token's own exp claim and the oldest ones are evicted once maxSize is reached
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+
+    // key is a SHA-256 of the token, so raw bearer tokens are never kept in memory
+    private final ConcurrentHashMap<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Node> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // bumped by clear(); a verification that started before a clear() must not be cached after it
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Node(String key, VerifiedToken token) {
+    }
+
+    public VerifiedTokenCache(@Value("${jwt.token-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // returns null on a miss, never returns a token that is past its expiry
+    public VerifiedToken get(String token) {
+        if (maxSize <= 0) {
+            misses.increment();
+            return null;
+        }
+        String key = hash(token);
+        VerifiedToken cached = tokens.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired()) {
+            tokens.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    // read before verifying a token and hand it to put()
+    public long epoch() {
+        return epoch.get();
+    }
+
+    // dropped if clear() ran since epoch() was read: the token may have been verified with a key that is gone now
+    public void put(String token, VerifiedToken verifiedToken, long verifiedInEpoch) {
+        if (maxSize <= 0 || verifiedToken.isExpired() || epoch.get() != verifiedInEpoch) {
+            return;
+        }
+        String key = hash(token);
+        if (tokens.putIfAbsent(key, verifiedToken) == null) {
+            if (epoch.get() != verifiedInEpoch) {
+                // clear() started between the check above and the insert, it may already be past our key
+                tokens.remove(key, verifiedToken);
+                return;
+            }
+            insertionOrder.add(new Node(key, verifiedToken));
+            queued.incrementAndGet();
+            evictOldest();
+        }
+    }
+
+    // call this when the signing key rotates, every cached verification becomes meaningless
+    public void clear() {
+        epoch.incrementAndGet();
+        tokens.clear();
+        insertionOrder.clear();
+        queued.set(0);
+    }
+
+    private void evictOldest() {
+        while (queued.get() > maxSize) {
+            Node oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            // only counts when the entry was still live, expired ones were already dropped by get()
+            if (tokens.remove(oldest.key(), oldest.token())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
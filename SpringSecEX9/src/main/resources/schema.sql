@@ -0,0 +1,16 @@
+-- matches what Hibernate generates for SpringSecEX8, so both apps can share one database
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists student_seq start with 1 increment by 50;
+
+create table if not exists users (
+    id integer not null primary key,
+    password varchar(255),
+    username varchar(255) not null,
+    constraint uk_users_username unique (username)
+);
+
+create table if not exists student (
+    id integer not null primary key,
+    marks integer not null,
+    name varchar(255)
+);
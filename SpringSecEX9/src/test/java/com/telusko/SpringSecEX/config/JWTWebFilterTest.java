@@ -0,0 +1,78 @@
+package com.telusko.SpringSecEX.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.springSecurity;
+
+// the whole reactive chain: /login through the password manager, then a protected endpoint through JWTWebFilter
+@SpringBootTest
+class JWTWebFilterTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void aTokenFromLoginOpensProtectedEndpoints() {
+        WebTestClient client = client();
+        register(client, "reactive-login");
+
+        String token = client.post().uri("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"reactive-login\",\"password\":\"secret\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(token).isNotBlank();
+
+        client.get().uri("/students")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void protectedEndpointsNeedAValidToken() {
+        WebTestClient client = client();
+
+        client.get().uri("/students").exchange().expectStatus().isUnauthorized();
+        client.get().uri("/students")
+                .header("Authorization", "Bearer not.a.token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void aWrongPasswordGetsNoToken() {
+        WebTestClient client = client();
+        register(client, "reactive-wrong-password");
+
+        client.post().uri("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"reactive-wrong-password\",\"password\":\"wrong\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private WebTestClient client() {
+        return WebTestClient.bindToApplicationContext(context)
+                .apply(springSecurity())
+                .configureClient()
+                .build();
+    }
+
+    private void register(WebTestClient client, String username) {
+        client.post().uri("/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"" + username + "\",\"password\":\"secret\"}")
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,46 @@
+package com.telusko.SpringSecEX.repo;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledSequenceTest {
+
+    // a sequence created with START WITH 1 INCREMENT BY 50, answering on another thread like the database would
+    private final AtomicInteger sequence = new AtomicInteger(1 - PooledSequence.BLOCK_SIZE);
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    private final PooledSequence ids = new PooledSequence(() -> Mono.fromCallable(() -> {
+        roundTrips.incrementAndGet();
+        return sequence.addAndGet(PooledSequence.BLOCK_SIZE);
+    }).subscribeOn(Schedulers.parallel()));
+
+    @Test
+    void oneRoundTripPerBlock() {
+        List<Integer> taken = Flux.range(0, 101)
+                .concatMap(i -> ids.nextId())
+                .collectList()
+                .block();
+
+        // 1 on its own, then 2..51 and 52..101 like Hibernate's pooled optimizer
+        assertThat(taken).isEqualTo(Flux.range(1, 101).collectList().block());
+        assertThat(roundTrips).hasValue(3);
+    }
+
+    @Test
+    void concurrentCallersShareARefill() {
+        List<Integer> taken = Flux.range(0, 1000)
+                .flatMap(i -> ids.nextId(), 256)
+                .collectList()
+                .block();
+
+        assertThat(taken).doesNotHaveDuplicates().hasSize(1000);
+        assertThat(roundTrips.get()).isLessThanOrEqualTo(1 + 1000 / PooledSequence.BLOCK_SIZE);
+    }
+}